@@ -0,0 +1,45 @@
+#!/usr/bin/env bash
+# Compare le temps de démarrage des variantes produites par le profil fast-startup :
+# JVM classique, Spring AOT, Spring AOT + archive AppCDS, et image native si elle a été construite.
+# Chaque variante démarre avec spring.context.exit=onRefresh (arrêt juste après le rafraîchissement
+# du contexte) et sans calibration du modèle de coût, pour ne mesurer que le démarrage.
+#
+# Usage : scripts/startup-comparison.sh <répertoire target> <nom du jar> <nom de l'image native> [essais]
+set -euo pipefail
+
+TARGET=${1:-target}
+JAR_NAME=${2:-steiner-tree-solver-1.0.0}
+IMAGE_NAME=${3:-steiner-tree-solver}
+RUNS=${4:-3}
+JAVA=${JAVA_HOME:+$JAVA_HOME/bin/}java
+COMMON="-Dspring.context.exit=onRefresh -Dsteiner.cost-model.calibrate=false -Dlogging.level.root=WARN"
+
+# Meilleur temps (ms) sur $RUNS démarrages de la commande donnée
+measure() {
+  local best=
+  for _ in $(seq "$RUNS"); do
+    local start end elapsed
+    start=$(date +%s%N)
+    "$@" > /dev/null 2>&1
+    end=$(date +%s%N)
+    elapsed=$(( (end - start) / 1000000 ))
+    if [ -z "$best" ] || [ "$elapsed" -lt "$best" ]; then best=$elapsed; fi
+  done
+  echo "$best"
+}
+
+report() {
+  printf '%-28s %8s ms\n' "$1" "$2"
+}
+
+echo "Temps de démarrage (meilleur de $RUNS) :"
+report "JVM" "$(measure "$JAVA" $COMMON -jar "$TARGET/$JAR_NAME.jar")"
+report "JVM + AOT" "$(measure "$JAVA" $COMMON -Dspring.aot.enabled=true -jar "$TARGET/cds/$JAR_NAME.jar")"
+if [ -f "$TARGET/cds/application.jsa" ]; then
+  report "JVM + AOT + AppCDS" "$(measure "$JAVA" $COMMON -Dspring.aot.enabled=true \
+    -XX:SharedArchiveFile="$TARGET/cds/application.jsa" -jar "$TARGET/cds/$JAR_NAME.jar")"
+fi
+# Produite par ./mvnw -Pfast-startup,native native:compile (GraalVM requis)
+if [ -x "$TARGET/$IMAGE_NAME" ]; then
+  report "Image native" "$(measure "$TARGET/$IMAGE_NAME" $COMMON)"
+fi
@@ -1,10 +1,13 @@
 package com.terra.numerica.steiner_tree_solver;
 
+import com.terra.numerica.steiner_tree_solver.config.JsonRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication(exclude = {DataSourceAutoConfiguration.class })
+@ImportRuntimeHints(JsonRuntimeHints.class)
 public class SteinerTreeSolverApplication {
 
 	public static void main(String[] args) {
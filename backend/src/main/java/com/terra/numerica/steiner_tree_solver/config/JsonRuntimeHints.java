@@ -0,0 +1,29 @@
+package com.terra.numerica.steiner_tree_solver.config;
+
+import com.terra.numerica.steiner_tree_solver.model.Edge;
+import com.terra.numerica.steiner_tree_solver.model.Point;
+import com.terra.numerica.steiner_tree_solver.model.SolveReply;
+import com.terra.numerica.steiner_tree_solver.model.SolveUpdate;
+import com.terra.numerica.steiner_tree_solver.model.SteinerResult;
+import com.terra.numerica.steiner_tree_solver.model.Tile;
+import com.terra.numerica.steiner_tree_solver.model.TrackedPoint;
+import com.terra.numerica.steiner_tree_solver.model.TreeSummary;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Reflection hints for the types Jackson binds in a native image. Controller payloads are
+ * detected by Spring AOT; they are listed anyway, together with the WebSocket messages that are
+ * only ever (de)serialised through the {@code ObjectMapper} directly.
+ */
+public class JsonRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+            Point.class, TrackedPoint.class, Edge.class, SteinerResult.class,
+            TreeSummary.class, Tile.class,
+            SolveUpdate.class, SolveReply.class);
+    }
+}
@@ -0,0 +1,72 @@
+package com.terra.numerica.steiner_tree_solver.config;
+
+import com.terra.numerica.steiner_tree_solver.solver.CostModel;
+import com.terra.numerica.steiner_tree_solver.solver.DelaunaySolver;
+import com.terra.numerica.steiner_tree_solver.solver.ExactSolver;
+import com.terra.numerica.steiner_tree_solver.solver.HeuristicSolver;
+import com.terra.numerica.steiner_tree_solver.solver.MetaheuristicSolver;
+import com.terra.numerica.steiner_tree_solver.solver.MstSolver;
+import com.terra.numerica.steiner_tree_solver.solver.MultilevelSolver;
+import com.terra.numerica.steiner_tree_solver.solver.PartitionedSolver;
+import com.terra.numerica.steiner_tree_solver.solver.SolverDispatcher;
+import com.terra.numerica.steiner_tree_solver.solver.SteinerSolver;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Registers the solver strategies and the dispatcher choosing between them.
+ */
+@Configuration
+public class SolverConfiguration {
+
+    @Bean
+    public ExactSolver exactSolver() {
+        return new ExactSolver();
+    }
+
+    @Bean
+    public HeuristicSolver heuristicSolver() {
+        return new HeuristicSolver();
+    }
+
+    @Bean
+    public DelaunaySolver delaunaySolver() {
+        return new DelaunaySolver();
+    }
+
+    @Bean(destroyMethod = "close")
+    public MetaheuristicSolver metaheuristicSolver(
+            @Value("${steiner.annealing.threads:0}") int threads,
+            @Value("${steiner.annealing.seed:42}") long seed) {
+        int workers = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new MetaheuristicSolver(workers, seed);
+    }
+
+    @Bean
+    public PartitionedSolver partitionedSolver() {
+        return new PartitionedSolver();
+    }
+
+    @Bean
+    public MultilevelSolver multilevelSolver() {
+        return new MultilevelSolver();
+    }
+
+    @Bean
+    public MstSolver mstSolver(@Value("${steiner.mst.threads:0}") int threads) {
+        return new MstSolver(threads > 0 ? threads : Runtime.getRuntime().availableProcessors());
+    }
+
+    @Bean
+    public SolverDispatcher solverDispatcher(List<SteinerSolver> solvers,
+            @Value("${steiner.cost-model.calibrate:true}") boolean calibrate) {
+        SolverDispatcher dispatcher = new SolverDispatcher(solvers, new CostModel());
+        if (calibrate) {
+            dispatcher.calibrate();
+        }
+        return dispatcher;
+    }
+}
@@ -0,0 +1,123 @@
+package com.terra.numerica.steiner_tree_solver.config;
+
+import com.terra.numerica.steiner_tree_solver.model.Point;
+import com.terra.numerica.steiner_tree_solver.solver.SolveOptions;
+import com.terra.numerica.steiner_tree_solver.solver.SolverDispatcher;
+import com.terra.numerica.steiner_tree_solver.solver.SteinerSolver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Runs a synthetic workload through every solver strategy at startup, so that the first user
+ * requests hit JIT-compiled code.
+ * <p>
+ * Each round solves one random instance per configured size with every strategy supporting it,
+ * through both the object and the primitive output paths, each solve within
+ * {@code steiner.warmup.solve-millis} so that the annealing chains do not stretch the rounds.
+ * Rounds repeat until the compile queue settles, or until {@code steiner.warmup.max-millis} has
+ * elapsed. Recompilations of the annealing moves never die out completely, so the queue counts
+ * as settled once the JIT compile time of two rounds in a row has fallen to
+ * {@code steiner.warmup.settle-ratio} of the heaviest round's. The cost model is then
+ * recalibrated on the compiled code.
+ * <p>
+ * Spring Boot only switches the readiness state to {@code ACCEPTING_TRAFFIC} once every
+ * {@link ApplicationRunner} has returned, so {@code /actuator/health/readiness} stays
+ * {@code OUT_OF_SERVICE} for the whole warm-up.
+ */
+@Component
+public class SolverWarmup implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SolverWarmup.class);
+
+    private static final int SETTLED_ROUNDS = 2;
+    private static final int MIN_ROUNDS = 3;
+
+    private final SolverDispatcher dispatcher;
+    private final boolean enabled;
+    private final int[] sizes;
+    private final long maxMillis;
+    private final long solveMillis;
+    private final double settleRatio;
+    private final boolean recalibrate;
+
+    public SolverWarmup(SolverDispatcher dispatcher,
+            @Value("${steiner.warmup.enabled:true}") boolean enabled,
+            @Value("${steiner.warmup.sizes:3,4,5,8,30,120}") int[] sizes,
+            @Value("${steiner.warmup.max-millis:30000}") long maxMillis,
+            @Value("${steiner.warmup.solve-millis:250}") long solveMillis,
+            @Value("${steiner.warmup.settle-ratio:0.1}") double settleRatio,
+            @Value("${steiner.cost-model.calibrate:true}") boolean recalibrate) {
+        this.dispatcher = dispatcher;
+        this.enabled = enabled;
+        this.sizes = sizes;
+        this.maxMillis = maxMillis;
+        this.solveMillis = solveMillis;
+        this.settleRatio = settleRatio;
+        this.recalibrate = recalibrate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) return;
+
+        CompilationMXBean jit = ManagementFactory.getCompilationMXBean();
+        boolean monitored = jit != null && jit.isCompilationTimeMonitoringSupported();
+        long start = System.nanoTime(), deadline = start + maxMillis * 1_000_000L;
+        Random random = new Random(42);
+        SolveOptions options = SolveOptions.defaults().withDeadlineMillis(Math.max(solveMillis, 1));
+
+        int rounds = 0, settled = 0;
+        long compileTime = monitored ? jit.getTotalCompilationTime() : 0, heaviest = 0;
+        while (System.nanoTime() < deadline) {
+            runRound(random, options);
+            rounds++;
+
+            if (monitored) {
+                long now = jit.getTotalCompilationTime(), round = now - compileTime;
+                compileTime = now;
+                heaviest = Math.max(heaviest, round);
+                settled = round <= settleRatio * heaviest ? settled + 1 : 0;
+                log.debug("Warm-up round {}: {} ms of JIT compilation", rounds, round);
+                if (rounds >= MIN_ROUNDS && settled >= SETTLED_ROUNDS) break;
+            } else if (rounds >= MIN_ROUNDS) {
+                break;
+            }
+        }
+
+        if (recalibrate) {
+            dispatcher.calibrate();
+        }
+        log.info("Solver warm-up finished after {} rounds in {} ms ({})", rounds,
+                 (System.nanoTime() - start) / 1_000_000,
+                 settled >= SETTLED_ROUNDS ? "compile queue settled" : "time budget reached");
+    }
+
+    private void runRound(Random random, SolveOptions options) {
+        for (int n : sizes) {
+            List<Point> points = randomPoints(random, n);
+            for (SteinerSolver solver : dispatcher.getSolvers()) {
+                if (!solver.supports(n)) continue;
+                solver.solve(points, options);
+                solver.solveIndexed(points, options).totalLength();
+            }
+        }
+    }
+
+    private static List<Point> randomPoints(Random random, int n) {
+        List<Point> points = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            points.add(new Point(random.nextDouble() * 1000, random.nextDouble() * 1000));
+        }
+        return points;
+    }
+}
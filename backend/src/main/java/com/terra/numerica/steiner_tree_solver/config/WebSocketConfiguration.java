@@ -0,0 +1,31 @@
+package com.terra.numerica.steiner_tree_solver.config;
+
+import com.terra.numerica.steiner_tree_solver.controller.LiveSolveHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+/**
+ * Exposes the live solve channel at {@code /api/steiner/live}.
+ */
+@Configuration
+@EnableWebSocket
+public class WebSocketConfiguration implements WebSocketConfigurer {
+
+    private final LiveSolveHandler liveSolveHandler;
+    private final String allowedOrigins;
+
+    public WebSocketConfiguration(LiveSolveHandler liveSolveHandler,
+            @Value("${cors.allowed-origins:*}") String allowedOrigins) {
+        this.liveSolveHandler = liveSolveHandler;
+        this.allowedOrigins = allowedOrigins;
+    }
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(liveSolveHandler, "/api/steiner/live")
+                .setAllowedOriginPatterns(allowedOrigins.split(","));
+    }
+}
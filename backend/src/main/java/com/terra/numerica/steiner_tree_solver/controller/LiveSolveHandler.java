@@ -0,0 +1,191 @@
+package com.terra.numerica.steiner_tree_solver.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.terra.numerica.steiner_tree_solver.model.SolveReply;
+import com.terra.numerica.steiner_tree_solver.model.SolveUpdate;
+import com.terra.numerica.steiner_tree_solver.model.SteinerResult;
+import com.terra.numerica.steiner_tree_solver.service.SteinerTreeService;
+import com.terra.numerica.steiner_tree_solver.solver.Quality;
+import com.terra.numerica.steiner_tree_solver.solver.SolveCancelledException;
+import com.terra.numerica.steiner_tree_solver.solver.SolveOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Live solve channel: the client streams {@link SolveUpdate}s while it edits a point set and
+ * receives one {@link SolveReply} per solved update.
+ * <p>
+ * Updates are latest-wins. Each connection runs at most one solve at a time; an update arriving
+ * while a solve is in progress replaces any update still waiting and cancels the running solve,
+ * which stops at its next cancellation check. Superseded updates get no reply.
+ */
+@Component
+public class LiveSolveHandler extends TextWebSocketHandler implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(LiveSolveHandler.class);
+
+    private static final int SEND_TIME_LIMIT_MS = 10_000;
+    private static final int SEND_BUFFER_LIMIT = 16 * 1024 * 1024;
+
+    private final SteinerTreeService steinerTreeService;
+    private final ObjectMapper objectMapper;
+    private final Map<String, Connection> connections = new ConcurrentHashMap<>();
+    private final ExecutorService executor;
+
+    public LiveSolveHandler(SteinerTreeService steinerTreeService, ObjectMapper objectMapper) {
+        this.steinerTreeService = steinerTreeService;
+        this.objectMapper = objectMapper;
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "steiner-live-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /** Per-connection state: the latest update not yet picked up and whether a worker is running. */
+    private static final class Connection {
+        final WebSocketSession session;
+        final AtomicReference<SolveUpdate> pending = new AtomicReference<>();
+        final AtomicBoolean running = new AtomicBoolean();
+        volatile SolveUpdate current;
+
+        Connection(WebSocketSession session) {
+            this.session = session;
+        }
+
+        /** True once a newer update has arrived or the client has gone away. */
+        boolean superseded(SolveUpdate update) {
+            return pending.get() != null || current != update || !session.isOpen();
+        }
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        WebSocketSession decorated =
+            new ConcurrentWebSocketSessionDecorator(session, SEND_TIME_LIMIT_MS, SEND_BUFFER_LIMIT);
+        connections.put(session.getId(), new Connection(decorated));
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) throws IOException {
+        Connection connection = connections.get(session.getId());
+        if (connection == null) return;
+
+        SolveUpdate update;
+        try {
+            update = objectMapper.readValue(message.getPayload(), SolveUpdate.class);
+        } catch (IOException e) {
+            send(connection, SolveReply.error(-1, "Malformed update"));
+            return;
+        }
+
+        connection.pending.set(update);
+        if (connection.running.compareAndSet(false, true)) {
+            executor.execute(() -> drain(connection));
+        }
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        Connection connection = connections.remove(session.getId());
+        if (connection != null) {
+            connection.pending.set(null);
+        }
+    }
+
+    /**
+     * Solves the latest pending update until none is left. The {@code running} flag is released
+     * before the final emptiness check so that an update arriving concurrently either is seen here
+     * or starts a new worker.
+     */
+    private void drain(Connection connection) {
+        while (true) {
+            SolveUpdate update;
+            while ((update = connection.pending.getAndSet(null)) != null) {
+                solve(connection, update);
+            }
+            connection.running.set(false);
+            if (connection.pending.get() == null || !connection.running.compareAndSet(false, true)) {
+                return;
+            }
+        }
+    }
+
+    private void solve(Connection connection, SolveUpdate update) {
+        connection.current = update;
+        if (!connection.session.isOpen()) return;
+
+        SolveOptions options = toOptions(update);
+        if (options == null) {
+            send(connection, SolveReply.error(update.getSeq(), "Invalid update"));
+            return;
+        }
+
+        SolveUpdate solving = update;
+        try {
+            SteinerResult result = steinerTreeService.solve(update.getPoints(),
+                options.withCancellation(() -> connection.superseded(solving)));
+            if (!connection.superseded(update)) {
+                send(connection, SolveReply.result(update.getSeq(), result));
+            }
+        } catch (SolveCancelledException e) {
+            // superseded by a newer update, which the drain loop picks up next
+        } catch (Exception e) {
+            log.warn("Live solve {} failed", update.getSeq(), e);
+            if (!connection.superseded(update)) {
+                send(connection, SolveReply.error(update.getSeq(), "Solve failed"));
+            }
+        }
+    }
+
+    /** Returns the solve options of an update, or {@code null} if the update is invalid. */
+    private SolveOptions toOptions(SolveUpdate update) {
+        Long deadlineMs = update.getDeadlineMs();
+        Double targetGap = update.getTargetGap();
+        if (update.getPoints() == null || update.getPoints().size() < 2
+                || (deadlineMs != null && deadlineMs <= 0)
+                || (targetGap != null && !(targetGap >= 0 && targetGap < Double.POSITIVE_INFINITY))) {
+            return null;
+        }
+        SolveOptions options = SolveOptions.defaults();
+        if (update.getQuality() != null) {
+            try {
+                options = options.withQuality(Quality.valueOf(update.getQuality()));
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+        if (targetGap != null) options = options.withTargetGap(targetGap);
+        return deadlineMs != null ? options.withDeadlineMillis(deadlineMs) : options;
+    }
+
+    private void send(Connection connection, SolveReply reply) {
+        try {
+            connection.session.sendMessage(new TextMessage(objectMapper.writeValueAsString(reply)));
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Could not send live reply {}", reply.getSeq(), e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
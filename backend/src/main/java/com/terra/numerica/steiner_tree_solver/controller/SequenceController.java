@@ -0,0 +1,62 @@
+package com.terra.numerica.steiner_tree_solver.controller;
+
+import com.terra.numerica.steiner_tree_solver.model.SteinerResult;
+import com.terra.numerica.steiner_tree_solver.model.TrackedPoint;
+import com.terra.numerica.steiner_tree_solver.service.SequenceService;
+import com.terra.numerica.steiner_tree_solver.solver.Quality;
+import com.terra.numerica.steiner_tree_solver.solver.SolveOptions;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Solving of point-set sequences: each frame posted to a sequence is warm-started from the
+ * tree of its previous frame. Sequences are created by their first frame.
+ */
+@RestController
+@RequestMapping("/api/steiner/sequences")
+@CrossOrigin(origins = "${cors.allowed-origins:*}")
+public class SequenceController {
+
+    private final SequenceService sequenceService;
+
+    public SequenceController(SequenceService sequenceService) {
+        this.sequenceService = sequenceService;
+    }
+
+    @PostMapping("/{id}/frames")
+    public ResponseEntity<SteinerResult> solveFrame(
+            @PathVariable String id,
+            @RequestBody List<TrackedPoint> points,
+            @RequestParam(defaultValue = "OPTIMAL") Quality quality,
+            @RequestParam(required = false) Long deadlineMs,
+            @RequestParam(required = false) Double targetGap) {
+        if (points == null || points.size() < 2 || (deadlineMs != null && deadlineMs <= 0)
+                || (targetGap != null && !(targetGap >= 0 && targetGap < Double.POSITIVE_INFINITY))) {
+            return ResponseEntity.badRequest().build();
+        }
+        SolveOptions options = SolveOptions.defaults().withQuality(quality);
+        if (deadlineMs != null) {
+            options = options.withDeadlineMillis(deadlineMs);
+        }
+        if (targetGap != null) {
+            options = options.withTargetGap(targetGap);
+        }
+
+        try {
+            return ResponseEntity.ok(sequenceService.solveFrame(id, points, options));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> delete(@PathVariable String id) {
+        return sequenceService.delete(id)
+            ? ResponseEntity.noContent().build()
+            : ResponseEntity.notFound().build();
+    }
+}
@@ -1,10 +1,17 @@
 package com.terra.numerica.steiner_tree_solver.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.terra.numerica.steiner_tree_solver.model.Point;
 import com.terra.numerica.steiner_tree_solver.model.SteinerResult;
 import com.terra.numerica.steiner_tree_solver.service.SteinerTreeService;
+import com.terra.numerica.steiner_tree_solver.solver.IndexedTree;
+import com.terra.numerica.steiner_tree_solver.solver.Quality;
+import com.terra.numerica.steiner_tree_solver.solver.SolveOptions;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -14,27 +21,75 @@ import java.util.List;
 public class SteinerController {
 
     private final SteinerTreeService steinerTreeService;
+    private final ObjectMapper objectMapper;
 
-    public SteinerController(SteinerTreeService steinerTreeService) {
+    public SteinerController(SteinerTreeService steinerTreeService, ObjectMapper objectMapper) {
         this.steinerTreeService = steinerTreeService;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping("/solve")
-    public ResponseEntity<SteinerResult> solve(@RequestBody List<Point> points) {
-        if (points == null || points.size() < 2) {
+    public ResponseEntity<SteinerResult> solve(
+            @RequestBody List<Point> points,
+            @RequestParam(defaultValue = "OPTIMAL") Quality quality,
+            @RequestParam(required = false) Long deadlineMs,
+            @RequestParam(required = false) Double targetGap) {
+        SolveOptions options = toOptions(points, quality, deadlineMs, targetGap);
+        if (options == null) {
             return ResponseEntity.badRequest().build();
         }
 
         try {
-            SteinerResult result = steinerTreeService.solve(points);
+            SteinerResult result = steinerTreeService.solve(points, options);
             return ResponseEntity.ok(result);
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
     }
 
+    /**
+     * Same response as {@code /solve}, but written edge by edge from the solver's primitive
+     * output with the Jackson streaming generator. Intended for large inputs.
+     */
+    @PostMapping(value = "/solve/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> solveStream(
+            @RequestBody List<Point> points,
+            @RequestParam(defaultValue = "OPTIMAL") Quality quality,
+            @RequestParam(required = false) Long deadlineMs,
+            @RequestParam(required = false) Double targetGap) {
+        SolveOptions options = toOptions(points, quality, deadlineMs, targetGap);
+        if (options == null) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        IndexedTree tree;
+        try {
+            tree = steinerTreeService.solveIndexed(points, options);
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator gen = objectMapper.getFactory().createGenerator(out)) {
+                StreamingResultWriter.write(tree, gen);
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
     @GetMapping("/health")
     public ResponseEntity<String> health() {
         return ResponseEntity.ok("Steiner Tree Solver API is running");
     }
+
+    /** Returns the solve options of a request, or {@code null} if the request is invalid. */
+    private SolveOptions toOptions(List<Point> points, Quality quality, Long deadlineMs, Double targetGap) {
+        if (points == null || points.size() < 2 || (deadlineMs != null && deadlineMs <= 0)
+                || (targetGap != null && !(targetGap >= 0 && targetGap < Double.POSITIVE_INFINITY))) {
+            return null;
+        }
+        SolveOptions options = SolveOptions.defaults().withQuality(quality);
+        if (targetGap != null) options = options.withTargetGap(targetGap);
+        return deadlineMs != null ? options.withDeadlineMillis(deadlineMs) : options;
+    }
 }
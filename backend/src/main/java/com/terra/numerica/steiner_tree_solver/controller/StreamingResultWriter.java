@@ -0,0 +1,55 @@
+package com.terra.numerica.steiner_tree_solver.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.terra.numerica.steiner_tree_solver.solver.IndexedTree;
+
+import java.io.IOException;
+
+/**
+ * Writes an {@link IndexedTree} with the Jackson streaming generator, in the same JSON layout
+ * as a serialised {@code SteinerResult}. Only one edge or point is being written at any time,
+ * so memory use does not depend on the size of the tree.
+ */
+final class StreamingResultWriter {
+
+    private StreamingResultWriter() {}
+
+    static void write(IndexedTree tree, JsonGenerator gen) throws IOException {
+        gen.writeStartObject();
+
+        gen.writeArrayFieldStart("edges");
+        for (int e = 0; e < tree.edgeCount(); e++) {
+            gen.writeStartObject();
+            gen.writeFieldName("start");
+            writePoint(tree, tree.edgeStart(e), gen);
+            gen.writeFieldName("end");
+            writePoint(tree, tree.edgeEnd(e), gen);
+            gen.writeNumberField("length", tree.edgeLength(e));
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+
+        gen.writeNumberField("totalLength", tree.totalLength());
+
+        gen.writeArrayFieldStart("steinerPoints");
+        for (int i = tree.terminalCount(); i < tree.nodeCount(); i++) writePoint(tree, i, gen);
+        gen.writeEndArray();
+
+        gen.writeArrayFieldStart("terminalPoints");
+        for (int i = 0; i < tree.terminalCount(); i++) writePoint(tree, i, gen);
+        gen.writeEndArray();
+
+        gen.writeStringField("strategy", tree.getStrategy());
+        gen.writeNumberField("lowerBound", tree.getLowerBound());
+        gen.writeNumberField("gap", tree.gap());
+        gen.writeEndObject();
+        gen.flush();
+    }
+
+    private static void writePoint(IndexedTree tree, int node, JsonGenerator gen) throws IOException {
+        gen.writeStartObject();
+        gen.writeNumberField("x", tree.x(node));
+        gen.writeNumberField("y", tree.y(node));
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,76 @@
+package com.terra.numerica.steiner_tree_solver.controller;
+
+import com.terra.numerica.steiner_tree_solver.model.Point;
+import com.terra.numerica.steiner_tree_solver.model.Tile;
+import com.terra.numerica.steiner_tree_solver.model.TreeSummary;
+import com.terra.numerica.steiner_tree_solver.service.TreeTileService;
+import com.terra.numerica.steiner_tree_solver.solver.Quality;
+import com.terra.numerica.steiner_tree_solver.solver.SolveOptions;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Server-side storage of solved trees and viewport queries over them, so that a client zoomed
+ * into part of a large tree only downloads and draws what is visible.
+ */
+@RestController
+@RequestMapping("/api/steiner/trees")
+@CrossOrigin(origins = "${cors.allowed-origins:*}")
+public class TreeController {
+
+    private static final int MAX_WIDTH_PX = 16_384;
+
+    private final TreeTileService treeTileService;
+
+    public TreeController(TreeTileService treeTileService) {
+        this.treeTileService = treeTileService;
+    }
+
+    @PostMapping
+    public ResponseEntity<TreeSummary> create(
+            @RequestBody List<Point> points,
+            @RequestParam(defaultValue = "OPTIMAL") Quality quality,
+            @RequestParam(required = false) Long deadlineMs,
+            @RequestParam(required = false) Double targetGap) {
+        if (points == null || points.size() < 2 || (deadlineMs != null && deadlineMs <= 0)
+                || (targetGap != null && !(targetGap >= 0 && targetGap < Double.POSITIVE_INFINITY))) {
+            return ResponseEntity.badRequest().build();
+        }
+        SolveOptions options = SolveOptions.defaults().withQuality(quality);
+        if (deadlineMs != null) {
+            options = options.withDeadlineMillis(deadlineMs);
+        }
+        if (targetGap != null) {
+            options = options.withTargetGap(targetGap);
+        }
+
+        try {
+            return ResponseEntity.ok(treeTileService.create(points, options));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @GetMapping("/{id}/tile")
+    public ResponseEntity<Tile> tile(
+            @PathVariable String id,
+            @RequestParam double minX, @RequestParam double minY,
+            @RequestParam double maxX, @RequestParam double maxY,
+            @RequestParam(defaultValue = "1024") int widthPx) {
+        if (!(maxX > minX) || !(maxY > minY) || widthPx < 1 || widthPx > MAX_WIDTH_PX) {
+            return ResponseEntity.badRequest().build();
+        }
+        return treeTileService.tile(id, minX, minY, maxX, maxY, widthPx)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> delete(@PathVariable String id) {
+        return treeTileService.delete(id)
+            ? ResponseEntity.noContent().build()
+            : ResponseEntity.notFound().build();
+    }
+}
@@ -0,0 +1,129 @@
+package com.terra.numerica.steiner_tree_solver.service;
+
+import com.terra.numerica.steiner_tree_solver.solver.IndexedTree;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Static R-tree over the edges of an {@link IndexedTree}, bulk-loaded with the
+ * Sort-Tile-Recursive algorithm. Each level stores the bounding boxes of its nodes in a flat
+ * array; node {@code i} of a level covers children {@code [i·F, (i+1)·F)} of the level below.
+ */
+final class EdgeIndex {
+
+    private static final int FANOUT = 16;
+
+    private final IndexedTree tree;
+    /** Edge ids in leaf order. */
+    private final int[] edges;
+    /** {@code boxes[0]} holds the edge boxes in leaf order, the last level holds the root. */
+    private final double[][] boxes;
+
+    EdgeIndex(IndexedTree tree) {
+        this.tree = tree;
+        int m = tree.edgeCount();
+        this.edges = strOrder(tree, m);
+
+        double[] leaf = new double[4 * m];
+        for (int i = 0; i < m; i++) {
+            int e = edges[i];
+            int a = tree.edgeStart(e), b = tree.edgeEnd(e);
+            leaf[4 * i]     = Math.min(tree.x(a), tree.x(b));
+            leaf[4 * i + 1] = Math.min(tree.y(a), tree.y(b));
+            leaf[4 * i + 2] = Math.max(tree.x(a), tree.x(b));
+            leaf[4 * i + 3] = Math.max(tree.y(a), tree.y(b));
+        }
+
+        int levels = 1;
+        for (int count = m; count > 1; count = (count + FANOUT - 1) / FANOUT) levels++;
+        boxes = new double[levels][];
+        boxes[0] = leaf;
+        for (int l = 1; l < levels; l++) {
+            double[] below = boxes[l - 1];
+            int childCount = below.length / 4;
+            int count = (childCount + FANOUT - 1) / FANOUT;
+            double[] level = new double[4 * count];
+            for (int i = 0; i < count; i++) {
+                level[4 * i] = level[4 * i + 1] = Double.MAX_VALUE;
+                level[4 * i + 2] = level[4 * i + 3] = -Double.MAX_VALUE;
+                for (int c = i * FANOUT; c < Math.min(childCount, (i + 1) * FANOUT); c++) {
+                    level[4 * i]     = Math.min(level[4 * i],     below[4 * c]);
+                    level[4 * i + 1] = Math.min(level[4 * i + 1], below[4 * c + 1]);
+                    level[4 * i + 2] = Math.max(level[4 * i + 2], below[4 * c + 2]);
+                    level[4 * i + 3] = Math.max(level[4 * i + 3], below[4 * c + 3]);
+                }
+            }
+            boxes[l] = level;
+        }
+    }
+
+    /** Sorts edges by centre x into vertical slices, then each slice by centre y. */
+    private static int[] strOrder(IndexedTree tree, int m) {
+        double[] cx = new double[m], cy = new double[m];
+        for (int e = 0; e < m; e++) {
+            int a = tree.edgeStart(e), b = tree.edgeEnd(e);
+            cx[e] = (tree.x(a) + tree.x(b)) / 2;
+            cy[e] = (tree.y(a) + tree.y(b)) / 2;
+        }
+        Integer[] order = IntStream.range(0, m).boxed().toArray(Integer[]::new);
+        Arrays.sort(order, Comparator.comparingDouble(e -> cx[e]));
+
+        int leafCount = (m + FANOUT - 1) / FANOUT;
+        int slices = Math.max(1, (int) Math.ceil(Math.sqrt(leafCount)));
+        int sliceSize = slices * FANOUT;
+        for (int from = 0; from < m; from += sliceSize) {
+            Arrays.sort(order, from, Math.min(m, from + sliceSize), Comparator.comparingDouble(e -> cy[e]));
+        }
+        return Arrays.stream(order).mapToInt(Integer::intValue).toArray();
+    }
+
+    /** Calls {@code action} with every edge intersecting the rectangle. */
+    void query(double minX, double minY, double maxX, double maxY, IntConsumer action) {
+        if (edges.length == 0) return;
+        int top = boxes.length - 1;
+        for (int i = 0; i < boxes[top].length / 4; i++) {
+            visit(top, i, minX, minY, maxX, maxY, action);
+        }
+    }
+
+    private void visit(int level, int node, double minX, double minY, double maxX, double maxY,
+                       IntConsumer action) {
+        double[] b = boxes[level];
+        if (b[4 * node] > maxX || b[4 * node + 2] < minX || b[4 * node + 1] > maxY || b[4 * node + 3] < minY) {
+            return;
+        }
+        if (level == 0) {
+            int e = edges[node];
+            if (segmentIntersects(e, minX, minY, maxX, maxY)) action.accept(e);
+            return;
+        }
+        int childCount = boxes[level - 1].length / 4;
+        for (int c = node * FANOUT; c < Math.min(childCount, (node + 1) * FANOUT); c++) {
+            visit(level - 1, c, minX, minY, maxX, maxY, action);
+        }
+    }
+
+    /** Liang-Barsky clipping of edge {@code e} against the rectangle. */
+    private boolean segmentIntersects(int e, double minX, double minY, double maxX, double maxY) {
+        int a = tree.edgeStart(e), b = tree.edgeEnd(e);
+        double x0 = tree.x(a), y0 = tree.y(a);
+        double dx = tree.x(b) - x0, dy = tree.y(b) - y0;
+        double[] p = { -dx, dx, -dy, dy };
+        double[] q = { x0 - minX, maxX - x0, y0 - minY, maxY - y0 };
+        double t0 = 0, t1 = 1;
+        for (int i = 0; i < 4; i++) {
+            if (p[i] == 0) {
+                if (q[i] < 0) return false;
+            } else {
+                double t = q[i] / p[i];
+                if (p[i] < 0) t0 = Math.max(t0, t);
+                else          t1 = Math.min(t1, t);
+                if (t0 > t1) return false;
+            }
+        }
+        return true;
+    }
+}
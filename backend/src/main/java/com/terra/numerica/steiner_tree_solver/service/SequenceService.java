@@ -0,0 +1,115 @@
+package com.terra.numerica.steiner_tree_solver.service;
+
+import com.terra.numerica.steiner_tree_solver.model.Point;
+import com.terra.numerica.steiner_tree_solver.model.SteinerResult;
+import com.terra.numerica.steiner_tree_solver.model.TrackedPoint;
+import com.terra.numerica.steiner_tree_solver.solver.IndexedTree;
+import com.terra.numerica.steiner_tree_solver.solver.LowerBounds;
+import com.terra.numerica.steiner_tree_solver.solver.Quality;
+import com.terra.numerica.steiner_tree_solver.solver.SolveOptions;
+import com.terra.numerica.steiner_tree_solver.solver.WarmStart;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Solves sequences of frames in which the same terminals, identified by
+ * {@link TrackedPoint#getId()}, move a little between frames.
+ * <p>
+ * Each frame is warm-started from the tree of the previous frame of its sequence
+ * ({@link WarmStart}): the topology is kept and the Steiner points are re-optimised for the new
+ * positions. The frame is solved from scratch by {@link SteinerTreeService} when it is the first of
+ * its sequence, when its set of ids differs from the previous frame's, when the kept topology is
+ * no longer valid, or with {@link Quality#FAST}, which asks for the MST only. A cold solve after a
+ * rejected warm start gets what is left of the deadline. The last tree of the
+ * {@code steiner.sequences.max-entries} most recently used sequences is kept in memory.
+ */
+@Service
+public class SequenceService {
+
+    private final SteinerTreeService steinerTreeService;
+    private final Map<String, Sequence> sequences;
+
+    public SequenceService(SteinerTreeService steinerTreeService,
+                           @Value("${steiner.sequences.max-entries:64}") int maxEntries) {
+        this.steinerTreeService = steinerTreeService;
+        this.sequences = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Sequence> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /** Latest frame of a sequence; frames of one sequence are solved one at a time. */
+    private static final class Sequence {
+        Map<String, Integer> indexOf = Map.of();
+        IndexedTree tree;
+    }
+
+    /**
+     * Solves the next frame of the sequence {@code sequenceId}, creating the sequence if needed.
+     *
+     * @throws IllegalArgumentException if fewer than 2 points are provided, or ids are missing or repeated
+     */
+    public SteinerResult solveFrame(String sequenceId, List<TrackedPoint> points, SolveOptions options) {
+        if (points == null || points.size() < 2) {
+            throw new IllegalArgumentException("At least 2 points are required");
+        }
+        Map<String, Integer> indexOf = new HashMap<>(points.size() * 2);
+        for (int i = 0; i < points.size(); i++) {
+            String id = points.get(i).getId();
+            if (id == null || indexOf.put(id, i) != null) {
+                throw new IllegalArgumentException("Every point needs a distinct id");
+            }
+        }
+        List<Point> terminals = List.copyOf(points);
+
+        Sequence sequence;
+        synchronized (sequences) {
+            sequence = sequences.computeIfAbsent(sequenceId, id -> new Sequence());
+        }
+        synchronized (sequence) {
+            long start = System.nanoTime();
+            IndexedTree tree = warmStart(sequence, points, terminals, options);
+            if (tree == null) {
+                tree = steinerTreeService.solveIndexed(terminals, remaining(options, start));
+            }
+            sequence.indexOf = indexOf;
+            sequence.tree = tree;
+            return tree.toResult(terminals);
+        }
+    }
+
+    public boolean delete(String sequenceId) {
+        synchronized (sequences) {
+            return sequences.remove(sequenceId) != null;
+        }
+    }
+
+    /** Returns the re-optimised previous tree, or {@code null} if the frame must be solved from scratch. */
+    private static IndexedTree warmStart(Sequence sequence, List<TrackedPoint> points, List<Point> terminals,
+                                         SolveOptions options) {
+        if (sequence.tree == null || sequence.indexOf.size() != points.size()) return null;
+        if (options.getQuality() == Quality.FAST) return null;
+        int[] previousOf = new int[points.size()];
+        for (int i = 0; i < points.size(); i++) {
+            Integer previous = sequence.indexOf.get(points.get(i).getId());
+            if (previous == null) return null;
+            previousOf[i] = previous;
+        }
+        IndexedTree tree = WarmStart.reoptimize(sequence.tree, terminals, previousOf, options);
+        if (tree != null) tree.setLowerBound(Math.min(tree.totalLength(), LowerBounds.of(terminals)));
+        return tree;
+    }
+
+    /** {@code options} with the time spent since {@code start} taken off the deadline, keeping at least 1 ms. */
+    private static SolveOptions remaining(SolveOptions options, long start) {
+        long spent = (System.nanoTime() - start) / 1_000_000;
+        return spent == 0 ? options : options.withDeadlineMillis(Math.max(1, options.getDeadlineMillis() - spent));
+    }
+}
@@ -0,0 +1,287 @@
+package com.terra.numerica.steiner_tree_solver.service;
+
+import com.terra.numerica.steiner_tree_solver.model.Point;
+import com.terra.numerica.steiner_tree_solver.solver.IndexedTree;
+import com.terra.numerica.steiner_tree_solver.solver.SolveOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.CRC32;
+
+/**
+ * Persistent cache of solved trees: an append-only log in a memory-mapped file of at most
+ * {@code steiner.store.max-bytes}, under {@code steiner.store.dir}. The store is disabled when no
+ * directory is configured.
+ * <p>
+ * Entries are keyed by a SHA-256 of the canonical input: the terminals sorted by coordinates
+ * (so that the same point set in any order hits the same entry), the quality, the deadline and
+ * the target gap.
+ * Trees are stored in canonical terminal order and mapped back to the caller's order on lookup;
+ * terminal coordinates are not stored since the caller supplies them.
+ * <p>
+ * Each record is {@code [length][crc32][payload]}, the length being written last. On startup
+ * the log is scanned up to the first empty or corrupt record, which discards a write torn by a
+ * crash. When the next record does not fit, the log is compacted into a new file keeping only
+ * the latest record of each key; if live records still fill more than half of the file, the
+ * oldest are dropped.
+ */
+@Component
+public class SolutionStore implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(SolutionStore.class);
+
+    private static final int MAGIC = 0x53544e32; // "STN2"
+    private static final int HEADER_BYTES = 8;
+    private static final int RECORD_HEADER_BYTES = 8;
+    private static final int KEY_BYTES = 32;
+    private static final String FILE_NAME = "solutions.dat";
+
+    private final Path file;
+    private final long capacity;
+    private final Map<ByteBuffer, Integer> index = new HashMap<>();
+    private MappedByteBuffer buffer;
+    private int tail;
+
+    public SolutionStore(@Value("${steiner.store.dir:}") String dir,
+                         @Value("${steiner.store.max-bytes:67108864}") long maxBytes) throws IOException {
+        if (maxBytes < 1024 || maxBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("steiner.store.max-bytes must be between 1 KiB and 2 GiB");
+        }
+        this.capacity = maxBytes;
+        if (dir == null || dir.isBlank()) {
+            this.file = null;
+            return;
+        }
+        Files.createDirectories(Path.of(dir));
+        this.file = Path.of(dir, FILE_NAME);
+        open();
+        log.info("Solution store {}: {} entries, {} bytes used", file, index.size(), tail);
+    }
+
+    public boolean isEnabled() {
+        return file != null;
+    }
+
+    /** Returns the stored tree for these terminals and options, with terminals in the caller's order. */
+    public synchronized Optional<IndexedTree> lookup(List<Point> points, SolveOptions options) {
+        if (!isEnabled()) return Optional.empty();
+        int[] order = canonicalOrder(points);
+        Integer offset = index.get(ByteBuffer.wrap(key(points, order, options)));
+        if (offset == null) return Optional.empty();
+        return Optional.of(read(offset, points, order));
+    }
+
+    /** Appends the tree, compacting the log first if it is full. Trees too large for the store are skipped. */
+    public synchronized void put(List<Point> points, SolveOptions options, IndexedTree tree) {
+        if (!isEnabled()) return;
+        int[] order = canonicalOrder(points);
+        byte[] payload = encode(key(points, order, options), tree, order);
+        int size = RECORD_HEADER_BYTES + payload.length;
+        if (size > (capacity - HEADER_BYTES) / 2) return;
+
+        try {
+            if (tail + size > capacity) compact(size);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not compact " + file, e);
+        }
+        append(payload);
+    }
+
+    // ---- log ------------------------------------------------------------------------------
+
+    private void open() throws IOException {
+        buffer = map(file);
+        if (buffer.getInt(0) != MAGIC) {
+            // New file, or records of an older layout: start an empty log
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, 0);
+            clearFrom(HEADER_BYTES);
+        }
+        index.clear();
+        tail = HEADER_BYTES;
+        while (tail + RECORD_HEADER_BYTES <= capacity) {
+            int length = buffer.getInt(tail);
+            if (length < KEY_BYTES || tail + RECORD_HEADER_BYTES + (long) length > capacity) break;
+            byte[] payload = new byte[length];
+            buffer.get(tail + RECORD_HEADER_BYTES, payload);
+            if (crc(payload) != buffer.getInt(tail + 4)) break;
+            index.put(ByteBuffer.wrap(Arrays.copyOf(payload, KEY_BYTES)), tail);
+            tail += RECORD_HEADER_BYTES + length;
+        }
+        clearFrom(tail);
+    }
+
+    private MappedByteBuffer map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        }
+    }
+
+    /** Zeroes the next record header so that a later scan stops there. */
+    private void clearFrom(int position) {
+        if (position + RECORD_HEADER_BYTES <= capacity) buffer.putLong(position, 0L);
+    }
+
+    private void append(byte[] payload) {
+        int offset = tail;
+        buffer.put(offset + RECORD_HEADER_BYTES, payload);
+        buffer.putInt(offset + 4, crc(payload));
+        tail = offset + RECORD_HEADER_BYTES + payload.length;
+        clearFrom(tail);
+        buffer.putInt(offset, payload.length);
+        index.put(ByteBuffer.wrap(Arrays.copyOf(payload, KEY_BYTES)), offset);
+    }
+
+    /**
+     * Rewrites the live records into a fresh file, oldest first. If they leave no room for
+     * {@code needed} more bytes, the oldest are dropped until the file is at most half full.
+     */
+    private void compact(int needed) throws IOException {
+        List<Integer> live = new ArrayList<>(index.values());
+        live.sort(Comparator.naturalOrder());
+        long total = HEADER_BYTES;
+        for (int offset : live) total += RECORD_HEADER_BYTES + buffer.getInt(offset);
+
+        int first = 0;
+        if (total + needed > capacity) {
+            while (first < live.size() && total + needed > capacity / 2) {
+                total -= RECORD_HEADER_BYTES + buffer.getInt(live.get(first++));
+            }
+        }
+
+        // Written through a channel so that the old mapping is the only one alive
+        Path compacted = file.resolveSibling(FILE_NAME + ".compact");
+        try (FileChannel channel = FileChannel.open(compacted, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            writeFully(channel, ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).putInt(0).flip());
+            for (int i = first; i < live.size(); i++) {
+                int offset = live.get(i);
+                writeFully(channel, buffer.slice(offset, RECORD_HEADER_BYTES + buffer.getInt(offset)));
+            }
+            if (channel.position() + RECORD_HEADER_BYTES <= capacity) {
+                writeFully(channel, ByteBuffer.allocate(RECORD_HEADER_BYTES));
+            }
+            channel.force(true);
+        }
+
+        Files.move(compacted, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        // Unmapped once collected; open() maps the compacted file
+        buffer = null;
+        int before = index.size();
+        open();
+        log.info("Solution store compacted: {} of {} entries kept, {} bytes used", index.size(), before, tail);
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer data) throws IOException {
+        while (data.hasRemaining()) channel.write(data);
+    }
+
+    // ---- records --------------------------------------------------------------------------
+
+    private static byte[] encode(byte[] key, IndexedTree tree, int[] order) {
+        int n = tree.terminalCount(), k = tree.steinerCount(), e = tree.edgeCount();
+        byte[] strategy = tree.getStrategy() == null ? new byte[0]
+            : tree.getStrategy().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer out = ByteBuffer.allocate(KEY_BYTES + 22 + strategy.length + 16 * k + 8 * e);
+        out.put(key).putInt(n).putInt(k).putInt(e);
+        out.putShort((short) strategy.length).put(strategy);
+        out.putDouble(tree.getLowerBound());
+        for (int i = n; i < n + k; i++) out.putDouble(tree.x(i)).putDouble(tree.y(i));
+
+        int[] rank = new int[n];
+        for (int r = 0; r < n; r++) rank[order[r]] = r;
+        for (int i = 0; i < e; i++) {
+            int a = tree.edgeStart(i), b = tree.edgeEnd(i);
+            out.putInt(a < n ? rank[a] : a).putInt(b < n ? rank[b] : b);
+        }
+        return out.array();
+    }
+
+    private IndexedTree read(int offset, List<Point> points, int[] order) {
+        ByteBuffer in = buffer.duplicate();
+        in.position(offset + RECORD_HEADER_BYTES + KEY_BYTES);
+        int n = in.getInt(), k = in.getInt(), e = in.getInt();
+        byte[] strategy = new byte[in.getShort()];
+        in.get(strategy);
+        double lowerBound = in.getDouble();
+
+        double[] xs = new double[n + k], ys = new double[n + k];
+        for (int i = 0; i < n; i++) {
+            xs[i] = points.get(i).getX();
+            ys[i] = points.get(i).getY();
+        }
+        for (int i = n; i < n + k; i++) {
+            xs[i] = in.getDouble();
+            ys[i] = in.getDouble();
+        }
+        int[] edges = new int[2 * e];
+        for (int i = 0; i < 2 * e; i++) {
+            int node = in.getInt();
+            edges[i] = node < n ? order[node] : node;
+        }
+        IndexedTree tree = new IndexedTree(xs, ys, n, edges);
+        tree.setStrategy(strategy.length == 0 ? null : new String(strategy, StandardCharsets.UTF_8));
+        tree.setLowerBound(lowerBound);
+        return tree;
+    }
+
+    /** Input indices sorted by (x, y); {@code order[r]} is the input index of canonical terminal {@code r}. */
+    private static int[] canonicalOrder(List<Point> points) {
+        Integer[] boxed = new Integer[points.size()];
+        for (int i = 0; i < boxed.length; i++) boxed[i] = i;
+        Arrays.sort(boxed, Comparator.<Integer>comparingDouble(i -> points.get(i).getX() + 0.0)
+                                     .thenComparingDouble(i -> points.get(i).getY() + 0.0));
+        int[] order = new int[boxed.length];
+        for (int i = 0; i < boxed.length; i++) order[i] = boxed[i];
+        return order;
+    }
+
+    private static byte[] key(List<Point> points, int[] order, SolveOptions options) {
+        ByteBuffer data = ByteBuffer.allocate(24 + 16 * points.size());
+        data.putInt(options.getQuality().ordinal()).putLong(options.getDeadlineMillis())
+            .putDouble(options.getTargetGap()).putInt(points.size());
+        for (int i : order) {
+            // + 0.0 folds -0.0 into 0.0
+            data.putDouble(points.get(i).getX() + 0.0).putDouble(points.get(i).getY() + 0.0);
+        }
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(data.array());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static int crc(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (buffer != null) buffer.force();
+    }
+}
@@ -0,0 +1,181 @@
+package com.terra.numerica.steiner_tree_solver.service;
+
+import com.terra.numerica.steiner_tree_solver.model.Point;
+import com.terra.numerica.steiner_tree_solver.model.Tile;
+import com.terra.numerica.steiner_tree_solver.model.TreeSummary;
+import com.terra.numerica.steiner_tree_solver.solver.IndexedTree;
+import com.terra.numerica.steiner_tree_solver.solver.SolveOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Keeps solved trees in memory with an R-tree over their edges, and answers viewport queries
+ * simplified to the resolution of the client's canvas. The least recently used tree is evicted
+ * once {@code steiner.trees.max-entries} trees are stored.
+ */
+@Service
+public class TreeTileService {
+
+    private final SteinerTreeService steinerTreeService;
+    private final Map<String, StoredTree> trees;
+
+    public TreeTileService(SteinerTreeService steinerTreeService,
+                           @Value("${steiner.trees.max-entries:32}") int maxEntries) {
+        this.steinerTreeService = steinerTreeService;
+        this.trees = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StoredTree> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    private static final class StoredTree {
+        final IndexedTree tree;
+        final EdgeIndex index;
+
+        StoredTree(IndexedTree tree) {
+            this.tree = tree;
+            this.index = new EdgeIndex(tree);
+        }
+    }
+
+    /**
+     * Solves the points, stores the tree and returns its summary.
+     *
+     * @throws IllegalArgumentException if fewer than 2 points are provided
+     */
+    public TreeSummary create(List<Point> points, SolveOptions options) {
+        IndexedTree tree = steinerTreeService.solveIndexed(points, options);
+        String id = UUID.randomUUID().toString();
+        StoredTree stored = new StoredTree(tree);
+        synchronized (trees) {
+            trees.put(id, stored);
+        }
+        return summarize(id, tree);
+    }
+
+    public boolean delete(String id) {
+        synchronized (trees) {
+            return trees.remove(id) != null;
+        }
+    }
+
+    /**
+     * Returns the edges and points of a stored tree inside the viewport, at a level of detail
+     * where one pixel covers {@code (maxX - minX) / widthPx} units. Sub-pixel edges are culled when
+     * both endpoints fall in the same pixel, and merged when another edge already joins the same
+     * two pixels; points are thinned to one per pixel.
+     *
+     * @return the tile, or empty if no tree is stored under {@code id}
+     */
+    public Optional<Tile> tile(String id, double minX, double minY, double maxX, double maxY, int widthPx) {
+        StoredTree stored;
+        synchronized (trees) {
+            stored = trees.get(id);
+        }
+        if (stored == null) return Optional.empty();
+
+        IndexedTree tree = stored.tree;
+        double cell = (maxX - minX) / widthPx;
+        DoubleBuffer edges = new DoubleBuffer();
+        Set<PixelPair> joinedPixels = new HashSet<>();
+        int[] counts = new int[3];
+
+        stored.index.query(minX, minY, maxX, maxY, e -> {
+            counts[0]++;
+            int a = tree.edgeStart(e), b = tree.edgeEnd(e);
+            if (tree.edgeLength(e) >= cell) {
+                edges.add(tree.x(a), tree.y(a));
+                edges.add(tree.x(b), tree.y(b));
+                return;
+            }
+            long pa = pixel(tree.x(a), tree.y(a), minX, minY, cell);
+            long pb = pixel(tree.x(b), tree.y(b), minX, minY, cell);
+            if (pa == pb) {
+                counts[1]++;
+            } else if (!joinedPixels.add(new PixelPair(Math.min(pa, pb), Math.max(pa, pb)))) {
+                counts[2]++;
+            } else {
+                edges.add(tree.x(a), tree.y(a));
+                edges.add(tree.x(b), tree.y(b));
+            }
+        });
+
+        Tile tile = new Tile();
+        tile.setEdges(edges.toArray());
+        tile.setTerminalPoints(points(tree, 0, tree.terminalCount(), minX, minY, maxX, maxY, cell));
+        tile.setSteinerPoints(points(tree, tree.terminalCount(), tree.nodeCount(), minX, minY, maxX, maxY, cell));
+        tile.setEdgesInView(counts[0]);
+        tile.setCulledEdges(counts[1]);
+        tile.setMergedEdges(counts[2]);
+        return Optional.of(tile);
+    }
+
+    private static double[] points(IndexedTree tree, int from, int to,
+                                   double minX, double minY, double maxX, double maxY, double cell) {
+        DoubleBuffer out = new DoubleBuffer();
+        Set<Long> usedPixels = new HashSet<>();
+        for (int i = from; i < to; i++) {
+            double x = tree.x(i), y = tree.y(i);
+            if (x < minX || x > maxX || y < minY || y > maxY) continue;
+            if (usedPixels.add(pixel(x, y, minX, minY, cell))) out.add(x, y);
+        }
+        return out.toArray();
+    }
+
+    private static long pixel(double x, double y, double minX, double minY, double cell) {
+        long px = (long) Math.floor((x - minX) / cell);
+        long py = (long) Math.floor((y - minY) / cell);
+        return (px << 32) ^ (py & 0xffffffffL);
+    }
+
+    private static TreeSummary summarize(String id, IndexedTree tree) {
+        double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE;
+        double maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+        for (int i = 0; i < tree.nodeCount(); i++) {
+            minX = Math.min(minX, tree.x(i)); maxX = Math.max(maxX, tree.x(i));
+            minY = Math.min(minY, tree.y(i)); maxY = Math.max(maxY, tree.y(i));
+        }
+
+        TreeSummary summary = new TreeSummary();
+        summary.setId(id);
+        summary.setStrategy(tree.getStrategy());
+        summary.setTerminalCount(tree.terminalCount());
+        summary.setSteinerCount(tree.steinerCount());
+        summary.setEdgeCount(tree.edgeCount());
+        summary.setTotalLength(tree.totalLength());
+        summary.setMinX(minX);
+        summary.setMinY(minY);
+        summary.setMaxX(maxX);
+        summary.setMaxY(maxY);
+        return summary;
+    }
+
+    private record PixelPair(long a, long b) {}
+
+    /** Growable array of coordinates. */
+    private static final class DoubleBuffer {
+        private double[] data = new double[64];
+        private int size;
+
+        void add(double x, double y) {
+            if (size + 2 > data.length) data = Arrays.copyOf(data, data.length * 2);
+            data[size++] = x;
+            data[size++] = y;
+        }
+
+        double[] toArray() {
+            return Arrays.copyOf(data, size);
+        }
+    }
+}
@@ -3,7 +3,7 @@ package com.terra.numerica.steiner_tree_solver;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "steiner.warmup.enabled=false")
 class SteinerTreeSolverApplicationTests {
 
 	@Test
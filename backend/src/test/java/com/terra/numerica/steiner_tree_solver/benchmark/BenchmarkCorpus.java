@@ -0,0 +1,99 @@
+package com.terra.numerica.steiner_tree_solver.benchmark;
+
+import com.terra.numerica.steiner_tree_solver.model.Point;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StreamTokenizer;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Loads the bundled Euclidean Steiner benchmark instances, stored in the OR-Library {@code estein}
+ * format (number of problems, then for each problem the number of points followed by one
+ * {@code x y} line per point), together with their optimal lengths, one per line, from a
+ * companion {@code <set>-lengths.txt} resource. Sets without that resource have no known
+ * optimum and are only compared with the lengths recorded in the baseline.
+ */
+final class BenchmarkCorpus {
+
+    /**
+     * Instance sets under {@code /benchmark}: {@code known-optimal}, small instances of known optimum,
+     * and {@code random-mid}, uniform and clustered instances of 30 to 300 points of unknown optimum.
+     */
+    static final List<String> SETS = List.of("known-optimal", "random-mid");
+
+    /** {@code optimalLength} is {@code NaN} when the optimum is unknown. */
+    record Instance(String name, List<Point> points, double optimalLength) {
+        boolean hasOptimum() {
+            return !Double.isNaN(optimalLength);
+        }
+
+        @Override
+        public String toString() {
+            return name + " (n=" + points.size() + ")";
+        }
+    }
+
+    private BenchmarkCorpus() {}
+
+    static List<Instance> loadAll() {
+        List<Instance> instances = new ArrayList<>();
+        for (String set : SETS) {
+            instances.addAll(load(set));
+        }
+        return instances;
+    }
+
+    static List<Instance> load(String set) {
+        InputStream coords = BenchmarkCorpus.class.getResourceAsStream("/benchmark/" + set + ".txt");
+        InputStream lengths = BenchmarkCorpus.class.getResourceAsStream("/benchmark/" + set + "-lengths.txt");
+        if (coords == null) throw new IllegalStateException("Missing benchmark set " + set);
+
+        try (coords; lengths) {
+            StreamTokenizer in = tokenizer(coords);
+            StreamTokenizer opt = lengths == null ? null : tokenizer(lengths);
+            int problems = nextInt(in);
+            List<Instance> instances = new ArrayList<>(problems);
+            for (int k = 1; k <= problems; k++) {
+                int n = nextInt(in);
+                List<Point> points = new ArrayList<>(n);
+                for (int i = 0; i < n; i++) {
+                    points.add(new Point(nextDouble(in), nextDouble(in)));
+                }
+                instances.add(new Instance(set + "#" + k, points, opt == null ? Double.NaN : nextDouble(opt)));
+            }
+            return instances;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read benchmark set " + set, e);
+        }
+    }
+
+    private static StreamTokenizer tokenizer(InputStream in) {
+        StreamTokenizer t = new StreamTokenizer(
+            new BufferedReader(new InputStreamReader(in, StandardCharsets.US_ASCII)));
+        t.resetSyntax();
+        t.wordChars('!', '~');
+        t.whitespaceChars(0, ' ');
+        return t;
+    }
+
+    private static int nextInt(StreamTokenizer t) throws IOException {
+        return Integer.parseInt(next(t));
+    }
+
+    private static double nextDouble(StreamTokenizer t) throws IOException {
+        return Double.parseDouble(next(t));
+    }
+
+    private static String next(StreamTokenizer t) throws IOException {
+        if (t.nextToken() != StreamTokenizer.TT_WORD) {
+            throw new IOException("Unexpected end of benchmark file");
+        }
+        return t.sval;
+    }
+}
@@ -0,0 +1,169 @@
+package com.terra.numerica.steiner_tree_solver.benchmark;
+
+import com.terra.numerica.steiner_tree_solver.config.SolverConfiguration;
+import com.terra.numerica.steiner_tree_solver.model.SteinerResult;
+import com.terra.numerica.steiner_tree_solver.solver.ExactSolver;
+import com.terra.numerica.steiner_tree_solver.solver.MstSolver;
+import com.terra.numerica.steiner_tree_solver.solver.SolveOptions;
+import com.terra.numerica.steiner_tree_solver.solver.SteinerSolver;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.TestFactory;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Quality-and-speed regression suite: runs every registered strategy on the bundled instances
+ * ({@link BenchmarkCorpus}), records the optimality gap, median wall time and tree length of each
+ * strategy on each instance in
+ * {@code target/benchmark/benchmark-report.csv}, and fails when a run is worse than
+ * {@code benchmark/baseline.csv} by more than the tolerances. Instances without known optimum are
+ * gated on the recorded length alone, the gap tolerance applying to it relatively.
+ * <p>
+ * The wall time is the median of {@code -Dbenchmark.runs} timed runs after an untimed warm-up run,
+ * so that a single run slowed down by the machine does not fail the suite.
+ * <p>
+ * Opt-in: {@code ./mvnw test -Pbenchmark}. Tolerances can be overridden with
+ * {@code -Dbenchmark.gapTolerance}, {@code -Dbenchmark.runtimeFactor} and
+ * {@code -Dbenchmark.runtimeSlackMillis}. To accept new figures, copy the report over the baseline.
+ */
+@Tag("benchmark")
+class SolverBenchmarkTest {
+
+    /** Upper bound of MST length / SMT length (Steiner ratio), used when no baseline exists. */
+    private static final double STEINER_RATIO_GAP = 2 / Math.sqrt(3) - 1;
+
+    private static final double GAP_TOLERANCE = Double.parseDouble(
+        System.getProperty("benchmark.gapTolerance", "0.001"));
+    private static final double RUNTIME_FACTOR = Double.parseDouble(
+        System.getProperty("benchmark.runtimeFactor", "3.0"));
+    private static final long RUNTIME_SLACK_MILLIS = Long.parseLong(
+        System.getProperty("benchmark.runtimeSlackMillis", "50"));
+    private static final int RUNS = Integer.parseInt(System.getProperty("benchmark.runs", "3"));
+
+    /** Generous budget so that time-bounded strategies run to completion and stay deterministic. */
+    private static final SolveOptions OPTIONS = SolveOptions.defaults().withDeadlineMillis(600_000);
+
+    private static final List<String> REPORT = new CopyOnWriteArrayList<>();
+
+    @TestFactory
+    List<DynamicTest> everyStrategyOnEveryInstance() throws IOException {
+        Map<String, double[]> baseline = loadBaseline();
+        List<SteinerSolver> solvers = registeredSolvers();
+
+        List<DynamicTest> tests = new ArrayList<>();
+        for (BenchmarkCorpus.Instance instance : BenchmarkCorpus.loadAll()) {
+            for (SteinerSolver solver : solvers) {
+                if (!solver.supports(instance.points().size())) continue;
+                tests.add(DynamicTest.dynamicTest(solver.name() + " on " + instance,
+                    () -> run(solver, instance, baseline.get(instance.name() + "," + solver.name()))));
+            }
+        }
+        return tests;
+    }
+
+    private void run(SteinerSolver solver, BenchmarkCorpus.Instance instance, double[] expected) {
+        SteinerResult result = solver.solve(instance.points(), OPTIONS);
+        long[] runs = new long[Math.max(1, RUNS)];
+        for (int r = 0; r < runs.length; r++) {
+            long start = System.nanoTime();
+            result = solver.solve(instance.points(), OPTIONS);
+            runs[r] = (System.nanoTime() - start) / 1_000_000;
+        }
+        Arrays.sort(runs);
+        long millis = runs[runs.length / 2];
+
+        double length = result.getTotalLength();
+        double gap = (length - instance.optimalLength()) / instance.optimalLength();
+        REPORT.add(String.format(Locale.ROOT, "%s,%s,%.6f,%d,%.9f",
+            instance.name(), solver.name(), Math.abs(gap) < 5e-7 ? 0.0 : gap, millis, length));
+
+        if (instance.hasOptimum()) {
+            assertTrue(gap > -1e-6, () -> String.format(
+                "%s: length %.9f is below the optimum %.9f", instance, length, instance.optimalLength()));
+        }
+
+        if (expected == null) {
+            if (!instance.hasOptimum()) {
+                double mst = new MstSolver().solve(instance.points(), OPTIONS).getTotalLength();
+                assertTrue(length <= mst * (1 + 1e-9), () -> String.format(
+                    "%s: length %.9f exceeds the MST length %.9f", instance, length, mst));
+                return;
+            }
+            double maxGap = ExactSolver.NAME.equals(solver.name()) ? 1e-6 : STEINER_RATIO_GAP + GAP_TOLERANCE;
+            assertTrue(gap <= maxGap, () -> String.format("%s: gap %.4f%% exceeds %.4f%%", instance, gap * 100, maxGap * 100));
+            return;
+        }
+
+        long maxMillis = Math.max((long) (expected[1] * RUNTIME_FACTOR), (long) expected[1] + RUNTIME_SLACK_MILLIS);
+        if (instance.hasOptimum()) {
+            double maxGap = expected[0] + GAP_TOLERANCE;
+            assertTrue(gap <= maxGap, () -> String.format(
+                "%s: quality regression, gap %.4f%% > baseline %.4f%%", instance, gap * 100, expected[0] * 100));
+        }
+        if (!Double.isNaN(expected[2])) {
+            double maxLength = expected[2] * (1 + GAP_TOLERANCE);
+            assertTrue(length <= maxLength, () -> String.format(
+                "%s: quality regression, length %.9f > baseline %.9f", instance, length, expected[2]));
+        }
+        assertTrue(millis <= maxMillis, () -> String.format(
+            "%s: runtime regression, %d ms > %d ms allowed (baseline %.0f ms)", instance, millis, maxMillis, expected[1]));
+    }
+
+    @AfterAll
+    static void writeReport() throws IOException {
+        Path report = Path.of("target", "benchmark", "benchmark-report.csv");
+        Files.createDirectories(report.getParent());
+        List<String> lines = new ArrayList<>();
+        lines.add("instance,strategy,gap,millis,length");
+        lines.addAll(REPORT.stream().sorted().toList());
+        Files.write(report, lines, StandardCharsets.UTF_8);
+    }
+
+    /** Strategies exactly as registered in the application, without cost model calibration. */
+    private static List<SteinerSolver> registeredSolvers() {
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+            context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("benchmark", Map.of(
+                "steiner.cost-model.calibrate", "false",
+                "steiner.annealing.threads", "2")));
+            context.register(SolverConfiguration.class);
+            context.refresh();
+            return List.copyOf(context.getBeansOfType(SteinerSolver.class).values());
+        }
+    }
+
+    /**
+     * Reads {@code instance,strategy,gap,millis,length} rows keyed by {@code instance,strategy};
+     * the gap is {@code NaN} for instances without known optimum.
+     */
+    private static Map<String, double[]> loadBaseline() throws IOException {
+        Map<String, double[]> baseline = new HashMap<>();
+        try (InputStream in = SolverBenchmarkTest.class.getResourceAsStream("/benchmark/baseline.csv")) {
+            if (in == null) return baseline;
+            List<String> lines = new String(in.readAllBytes(), StandardCharsets.UTF_8).lines().skip(1).toList();
+            for (String line : lines) {
+                String[] f = line.split(",");
+                if (f.length < 4) continue;
+                double length = f.length > 4 ? Double.parseDouble(f[4]) : Double.NaN;
+                baseline.put(f[0] + "," + f[1], new double[]{ Double.parseDouble(f[2]), Double.parseDouble(f[3]), length });
+            }
+        }
+        return baseline;
+    }
+}
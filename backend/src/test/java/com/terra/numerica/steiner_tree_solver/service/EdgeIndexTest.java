@@ -0,0 +1,85 @@
+package com.terra.numerica.steiner_tree_solver.service;
+
+import com.terra.numerica.steiner_tree_solver.solver.IndexedTree;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class EdgeIndexTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 2, 16, 17, 300, 5000 })
+    void queryMatchesABruteForceScan(int n) {
+        Random random = new Random(n);
+        IndexedTree tree = randomTree(random, n);
+        EdgeIndex index = new EdgeIndex(tree);
+
+        for (int q = 0; q < 200; q++) {
+            // From a sliver to the whole square, offset so that no side lies on a grid coordinate
+            double width = Math.pow(10, random.nextDouble() * 3 - 1), height = Math.pow(10, random.nextDouble() * 3 - 1);
+            double minX = random.nextDouble() * 110 - 10 + 0.37, minY = random.nextDouble() * 110 - 10 + 0.37;
+            double maxX = minX + width, maxY = minY + height;
+
+            List<Integer> found = new ArrayList<>();
+            index.query(minX, minY, maxX, maxY, found::add);
+            found.sort(null);
+
+            List<Integer> expected = new ArrayList<>();
+            for (int e = 0; e < tree.edgeCount(); e++) {
+                if (intersects(tree, e, minX, minY, maxX, maxY)) expected.add(e);
+            }
+            assertEquals(expected, found, String.format("n=%d, query %d", n, q));
+        }
+    }
+
+    /**
+     * Random tree over the 100 × 100 square joining each node to a random earlier one, so that long
+     * edges cross many leaves; every fourth node lies on the grid to give axis-aligned edges.
+     */
+    private static IndexedTree randomTree(Random random, int n) {
+        double[] xs = new double[n], ys = new double[n];
+        int[] edges = new int[2 * (n - 1)];
+        for (int i = 0; i < n; i++) {
+            boolean grid = i % 4 == 0;
+            xs[i] = grid ? random.nextInt(100) : random.nextDouble() * 100;
+            ys[i] = grid ? random.nextInt(100) : random.nextDouble() * 100;
+            if (i > 0) {
+                edges[2 * (i - 1)] = random.nextInt(i);
+                edges[2 * (i - 1) + 1] = i;
+            }
+        }
+        return new IndexedTree(xs, ys, n, edges);
+    }
+
+    /** An endpoint inside the rectangle, or a crossing with one of its sides. */
+    private static boolean intersects(IndexedTree tree, int e, double minX, double minY, double maxX, double maxY) {
+        int a = tree.edgeStart(e), b = tree.edgeEnd(e);
+        double ax = tree.x(a), ay = tree.y(a), bx = tree.x(b), by = tree.y(b);
+        if (inside(ax, ay, minX, minY, maxX, maxY) || inside(bx, by, minX, minY, maxX, maxY)) return true;
+        double[][] corners = { { minX, minY }, { maxX, minY }, { maxX, maxY }, { minX, maxY } };
+        for (int s = 0; s < 4; s++) {
+            double[] c = corners[s], d = corners[(s + 1) % 4];
+            if (crosses(ax, ay, bx, by, c[0], c[1], d[0], d[1])) return true;
+        }
+        return false;
+    }
+
+    private static boolean inside(double x, double y, double minX, double minY, double maxX, double maxY) {
+        return x >= minX && x <= maxX && y >= minY && y <= maxY;
+    }
+
+    private static boolean crosses(double ax, double ay, double bx, double by,
+                                   double cx, double cy, double dx, double dy) {
+        return Math.signum(orient(ax, ay, bx, by, cx, cy)) * Math.signum(orient(ax, ay, bx, by, dx, dy)) <= 0
+            && Math.signum(orient(cx, cy, dx, dy, ax, ay)) * Math.signum(orient(cx, cy, dx, dy, bx, by)) <= 0;
+    }
+
+    private static double orient(double ax, double ay, double bx, double by, double cx, double cy) {
+        return (bx - ax) * (cy - ay) - (by - ay) * (cx - ax);
+    }
+}
@@ -0,0 +1,84 @@
+package com.terra.numerica.steiner_tree_solver.service;
+
+import com.terra.numerica.steiner_tree_solver.model.SteinerResult;
+import com.terra.numerica.steiner_tree_solver.model.TrackedPoint;
+import com.terra.numerica.steiner_tree_solver.solver.CostModel;
+import com.terra.numerica.steiner_tree_solver.solver.HeuristicSolver;
+import com.terra.numerica.steiner_tree_solver.solver.MstSolver;
+import com.terra.numerica.steiner_tree_solver.solver.SolveCancelledException;
+import com.terra.numerica.steiner_tree_solver.solver.SolveOptions;
+import com.terra.numerica.steiner_tree_solver.solver.SolverDispatcher;
+import com.terra.numerica.steiner_tree_solver.solver.WarmStart;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SequenceServiceTest {
+
+    private static final SolveOptions OPTIONS = SolveOptions.defaults();
+
+    private SequenceService sequences;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        SolverDispatcher dispatcher = new SolverDispatcher(List.of(new HeuristicSolver(), new MstSolver()), new CostModel());
+        sequences = new SequenceService(new SteinerTreeService(dispatcher, new SolutionStore("", 1 << 16), 20), 8);
+    }
+
+    @Test
+    void smallMoveKeepsTheTopology() {
+        List<TrackedPoint> first = randomPoints(1, 40);
+        assertEquals(HeuristicSolver.NAME, sequences.solveFrame("s", first, OPTIONS).getStrategy());
+
+        SteinerResult next = sequences.solveFrame("s", moved(first, 2, 0.05), OPTIONS);
+
+        assertEquals(WarmStart.NAME, next.getStrategy());
+        assertEquals(39 + next.getSteinerPoints().size(), next.getEdges().size());
+    }
+
+    @Test
+    void changedTerminalsOrInvalidTopologyFallBackToAColdSolve() {
+        List<TrackedPoint> first = randomPoints(1, 40);
+        sequences.solveFrame("s", first, OPTIONS);
+
+        // Same ids, but every terminal jumps across the square
+        List<TrackedPoint> scrambled = randomPoints(3, 40);
+        assertEquals(HeuristicSolver.NAME, sequences.solveFrame("s", scrambled, OPTIONS).getStrategy());
+
+        List<TrackedPoint> fewer = new ArrayList<>(scrambled.subList(0, 39));
+        assertEquals(HeuristicSolver.NAME, sequences.solveFrame("s", fewer, OPTIONS).getStrategy());
+    }
+
+    @Test
+    void warmStartHonoursCancellation() {
+        List<TrackedPoint> first = randomPoints(1, 40);
+        sequences.solveFrame("s", first, OPTIONS);
+
+        SolveOptions cancelled = OPTIONS.withCancellation(() -> true);
+        assertThrows(SolveCancelledException.class, () -> sequences.solveFrame("s", moved(first, 2, 0.05), cancelled));
+    }
+
+    private static List<TrackedPoint> randomPoints(long seed, int n) {
+        Random random = new Random(seed);
+        List<TrackedPoint> points = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) points.add(new TrackedPoint("p" + i, random.nextDouble() * 100, random.nextDouble() * 100));
+        return points;
+    }
+
+    /** {@code points} each moved by up to {@code step} in x and y. */
+    private static List<TrackedPoint> moved(List<TrackedPoint> points, long seed, double step) {
+        Random random = new Random(seed);
+        List<TrackedPoint> next = new ArrayList<>(points.size());
+        for (TrackedPoint p : points) {
+            next.add(new TrackedPoint(p.getId(), p.getX() + (2 * random.nextDouble() - 1) * step,
+                                      p.getY() + (2 * random.nextDouble() - 1) * step));
+        }
+        return next;
+    }
+}
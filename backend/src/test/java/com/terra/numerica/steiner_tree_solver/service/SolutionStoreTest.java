@@ -0,0 +1,76 @@
+package com.terra.numerica.steiner_tree_solver.service;
+
+import com.terra.numerica.steiner_tree_solver.model.Point;
+import com.terra.numerica.steiner_tree_solver.solver.HeuristicSolver;
+import com.terra.numerica.steiner_tree_solver.solver.IndexedTree;
+import com.terra.numerica.steiner_tree_solver.solver.LowerBounds;
+import com.terra.numerica.steiner_tree_solver.solver.SolveOptions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SolutionStoreTest {
+
+    private static final SolveOptions OPTIONS = SolveOptions.defaults();
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void lookupSurvivesReopenAndIgnoresTerminalOrder() throws Exception {
+        List<Point> points = randomPoints(1, 30);
+        IndexedTree tree = solve(points);
+        new SolutionStore(dir.toString(), 1 << 16).put(points, OPTIONS, tree);
+
+        List<Point> shuffled = new ArrayList<>(points);
+        Collections.shuffle(shuffled, new Random(7));
+        IndexedTree stored = new SolutionStore(dir.toString(), 1 << 16).lookup(shuffled, OPTIONS).orElseThrow();
+
+        assertEquals(tree.totalLength(), stored.totalLength(), 1e-9);
+        assertEquals(tree.edgeCount(), stored.edgeCount());
+        assertEquals(tree.getStrategy(), stored.getStrategy());
+        assertEquals(tree.getLowerBound(), stored.getLowerBound());
+        assertFalse(new SolutionStore(dir.toString(), 1 << 16)
+            .lookup(shuffled, OPTIONS.withDeadlineMillis(10)).isPresent());
+        assertFalse(new SolutionStore(dir.toString(), 1 << 16)
+            .lookup(shuffled, OPTIONS.withTargetGap(0.05)).isPresent());
+    }
+
+    @Test
+    void compactionKeepsTheNewestEntries() throws Exception {
+        SolutionStore store = new SolutionStore(dir.toString(), 1 << 14);
+        List<List<Point>> inputs = new ArrayList<>();
+        for (int seed = 0; seed < 60; seed++) {
+            List<Point> points = randomPoints(seed, 40);
+            inputs.add(points);
+            store.put(points, OPTIONS, solve(points));
+        }
+
+        assertTrue(store.lookup(inputs.get(59), OPTIONS).isPresent());
+        assertFalse(store.lookup(inputs.get(0), OPTIONS).isPresent());
+        assertTrue(new SolutionStore(dir.toString(), 1 << 14).lookup(inputs.get(59), OPTIONS).isPresent());
+    }
+
+    private static IndexedTree solve(List<Point> points) {
+        IndexedTree tree = IndexedTree.fromResult(points, new HeuristicSolver().solve(points, OPTIONS));
+        tree.setStrategy(HeuristicSolver.NAME);
+        tree.setLowerBound(LowerBounds.of(points));
+        return tree;
+    }
+
+    private static List<Point> randomPoints(long seed, int n) {
+        Random random = new Random(seed);
+        List<Point> points = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) points.add(new Point(random.nextDouble() * 100, random.nextDouble() * 100));
+        return points;
+    }
+}
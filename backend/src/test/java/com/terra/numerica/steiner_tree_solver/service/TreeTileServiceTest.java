@@ -0,0 +1,76 @@
+package com.terra.numerica.steiner_tree_solver.service;
+
+import com.terra.numerica.steiner_tree_solver.model.Point;
+import com.terra.numerica.steiner_tree_solver.model.Tile;
+import com.terra.numerica.steiner_tree_solver.model.TreeSummary;
+import com.terra.numerica.steiner_tree_solver.solver.CostModel;
+import com.terra.numerica.steiner_tree_solver.solver.MstSolver;
+import com.terra.numerica.steiner_tree_solver.solver.SolveOptions;
+import com.terra.numerica.steiner_tree_solver.solver.SolverDispatcher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class TreeTileServiceTest {
+
+    /**
+     * MST of two groups, joined by one long edge: four points inside pixel (10, 10), whose three
+     * edges are culled at one unit per pixel, and four points split between pixels (20, 10) and
+     * (21, 10), joined by edges A1-B1 (0.2), A2-B2 (0.25, merged with A1-B1) and A1-A2 (0.3, culled).
+     */
+    private static final List<Point> LAYOUT = List.of(
+        new Point(10.2, 10.5), new Point(10.4, 10.5), new Point(10.6, 10.5), new Point(10.8, 10.5),
+        new Point(20.9, 10.5), new Point(21.1, 10.5), new Point(20.9, 10.8), new Point(21.1, 10.95));
+
+    private TreeTileService tiles;
+    private String id;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        SolverDispatcher dispatcher = new SolverDispatcher(List.of(new MstSolver()), new CostModel());
+        tiles = new TreeTileService(new SteinerTreeService(dispatcher, new SolutionStore("", 1 << 16), 20), 4);
+        TreeSummary summary = tiles.create(LAYOUT, SolveOptions.defaults());
+        assertEquals(7, summary.getEdgeCount());
+        id = summary.getId();
+    }
+
+    @Test
+    void subPixelEdgesAreCulledOrMerged() {
+        Tile tile = tiles.tile(id, 0, 0, 100, 100, 100).orElseThrow();
+
+        assertEquals(7, tile.getEdgesInView());
+        assertEquals(4, tile.getCulledEdges());
+        assertEquals(1, tile.getMergedEdges());
+        // The long edge and A1-B1, two endpoints each
+        assertEquals(2 * 4, tile.getEdges().length);
+        // One point per used pixel
+        assertEquals(3 * 2, tile.getTerminalPoints().length);
+        assertEquals(0, tile.getSteinerPoints().length);
+    }
+
+    @Test
+    void zoomingInDrawsEveryEdge() {
+        Tile tile = tiles.tile(id, 0, 0, 100, 100, 10_000).orElseThrow();
+
+        assertEquals(7, tile.getEdgesInView());
+        assertEquals(0, tile.getCulledEdges());
+        assertEquals(0, tile.getMergedEdges());
+        assertEquals(7 * 4, tile.getEdges().length);
+        assertEquals(LAYOUT.size() * 2, tile.getTerminalPoints().length);
+    }
+
+    @Test
+    void viewportOnlyReturnsWhatItIntersects() {
+        // Only the long edge crosses x = 15
+        Tile tile = tiles.tile(id, 14.9, 0, 15.1, 100, 100).orElseThrow();
+        assertEquals(1, tile.getEdgesInView());
+        assertEquals(0, tile.getTerminalPoints().length);
+
+        assertEquals(0, tiles.tile(id, 50, 50, 60, 60, 100).orElseThrow().getEdgesInView());
+        assertFalse(tiles.tile("unknown", 0, 0, 100, 100, 100).isPresent());
+    }
+}
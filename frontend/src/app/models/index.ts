@@ -5,3 +5,5 @@
 export * from './point.model';
 export * from './edge.model';
 export * from './steiner-result.model';
+export * from './tile.model';
+export * from './live.model';
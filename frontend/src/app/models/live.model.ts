@@ -0,0 +1,24 @@
+import { Point } from './point.model';
+import { SteinerResult } from './steiner-result.model';
+
+/**
+ * Point-set update sent on the live WebSocket channel (/api/steiner/live).
+ * seq is echoed in the matching reply; older updates still being solved are dropped.
+ */
+export interface SolveUpdate {
+  seq: number;
+  points: Point[];
+  quality?: 'FAST' | 'BALANCED' | 'OPTIMAL';
+  deadlineMs?: number;
+  /** Relative optimality gap at which the solver may stop early (e.g. 0.02) */
+  targetGap?: number;
+}
+
+/**
+ * Reply to the update seq: either its result or an error message.
+ */
+export interface SolveReply {
+  seq: number;
+  result?: SteinerResult;
+  error?: string;
+}
@@ -3,6 +3,13 @@ export interface Point {
   y: number;
 }
 
+/**
+ * Point with an identity that stays the same across the frames of a sequence.
+ */
+export interface TrackedPoint extends Point {
+  id: string;
+}
+
 export interface DisplayPoint extends Point {
   id: number;
   isSteinerPoint: boolean;
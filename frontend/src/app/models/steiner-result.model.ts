@@ -14,6 +14,12 @@ export interface SteinerResult {
   steinerPoints: Point[];
   /** Original terminal points (user-placed cities) */
   terminalPoints: Point[];
+  /** Solver strategy that produced the tree (exact, annealing, heuristic, partitioned, multilevel, mst, warm-start) */
+  strategy?: string;
+  /** Lower bound on the length of the optimal tree (0 if none was computed) */
+  lowerBound?: number;
+  /** Relative gap (totalLength - lowerBound) / lowerBound: how much shorter the optimum can be at most */
+  gap?: number;
 }
 
 /**
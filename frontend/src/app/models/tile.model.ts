@@ -0,0 +1,43 @@
+/**
+ * Summary of a solved tree stored by the backend (POST /api/steiner/trees).
+ * Bounds cover every terminal and Steiner point of the tree.
+ */
+export interface TreeSummary {
+  id: string;
+  strategy: string;
+  terminalCount: number;
+  steinerCount: number;
+  edgeCount: number;
+  totalLength: number;
+  minX: number;
+  minY: number;
+  maxX: number;
+  maxY: number;
+}
+
+/**
+ * Visible part of a stored tree, simplified for the canvas resolution.
+ * Coordinates are flattened: edges hold x1, y1, x2, y2 per edge, point arrays hold x, y per point.
+ */
+export interface Tile {
+  edges: number[];
+  terminalPoints: number[];
+  steinerPoints: number[];
+  /** Edges intersecting the viewport before simplification */
+  edgesInView: number;
+  /** Sub-pixel edges dropped because both endpoints fall in the same pixel */
+  culledEdges: number;
+  /** Sub-pixel edges dropped because another edge already joins the same pixels */
+  mergedEdges: number;
+}
+
+/**
+ * Viewport rectangle in tree coordinates, with the canvas width in pixels.
+ */
+export interface Viewport {
+  minX: number;
+  minY: number;
+  maxX: number;
+  maxY: number;
+  widthPx: number;
+}
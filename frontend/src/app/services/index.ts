@@ -2,3 +2,4 @@
  * Central export file for all services.
  */
 export * from './steiner.service';
+export * from './live-solve.service';
@@ -0,0 +1,43 @@
+import { Injectable, OnDestroy } from '@angular/core';
+import { Observable } from 'rxjs';
+import { webSocket, WebSocketSubject } from 'rxjs/webSocket';
+import { Point, SolveReply, SolveUpdate } from '../models';
+
+@Injectable({
+  providedIn: 'root'
+})
+export class LiveSolveService implements OnDestroy {
+  // Même origine que la page : nginx proxifie /api/steiner/live vers le backend
+  private readonly url = `${location.protocol === 'https:' ? 'wss' : 'ws'}://${location.host}/api/steiner/live`;
+
+  private socket?: WebSocketSubject<SolveUpdate | SolveReply>;
+  private seq = 0;
+
+  /**
+   * Replies from the backend. Only the latest update is guaranteed a reply:
+   * updates superseded while being solved are dropped by the server.
+   */
+  replies(): Observable<SolveReply> {
+    return this.connect() as Observable<SolveReply>;
+  }
+
+  /**
+   * Sends the current point set and returns its sequence number.
+   */
+  update(points: Point[], quality?: SolveUpdate['quality'], deadlineMs?: number): number {
+    const seq = ++this.seq;
+    this.connect().next({ seq, points, quality, deadlineMs });
+    return seq;
+  }
+
+  ngOnDestroy(): void {
+    this.socket?.complete();
+  }
+
+  private connect(): WebSocketSubject<SolveUpdate | SolveReply> {
+    if (!this.socket || this.socket.closed) {
+      this.socket = webSocket<SolveUpdate | SolveReply>(this.url);
+    }
+    return this.socket;
+  }
+}
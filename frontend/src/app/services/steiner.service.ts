@@ -1,7 +1,7 @@
 import { Injectable } from '@angular/core';
-import { HttpClient, HttpErrorResponse } from '@angular/common/http';
+import { HttpClient, HttpErrorResponse, HttpParams } from '@angular/common/http';
 import { Observable, catchError, throwError } from 'rxjs';
-import { Point, SteinerResult } from '../models';
+import { Point, SteinerResult, Tile, TrackedPoint, TreeSummary, Viewport } from '../models';
 
 @Injectable({
   providedIn: 'root'
@@ -19,6 +19,43 @@ export class SteinerService {
       );
   }
 
+  /**
+   * Solves the points and keeps the tree on the server, for viewport queries with getTile().
+   */
+  createTree(points: Point[]): Observable<TreeSummary> {
+    return this.http.post<TreeSummary>(`${this.apiUrl}/trees`, points)
+      .pipe(
+        catchError(this.handleError)
+      );
+  }
+
+  /**
+   * Fetches only the edges and points of a stored tree that are visible in the viewport.
+   */
+  getTile(treeId: string, viewport: Viewport): Observable<Tile> {
+    const params = new HttpParams()
+      .set('minX', viewport.minX)
+      .set('minY', viewport.minY)
+      .set('maxX', viewport.maxX)
+      .set('maxY', viewport.maxY)
+      .set('widthPx', viewport.widthPx);
+    return this.http.get<Tile>(`${this.apiUrl}/trees/${treeId}/tile`, { params })
+      .pipe(
+        catchError(this.handleError)
+      );
+  }
+
+  /**
+   * Solves the next frame of a sequence; the server starts from the tree of the previous frame
+   * when the point ids are the same.
+   */
+  solveFrame(sequenceId: string, points: TrackedPoint[]): Observable<SteinerResult> {
+    return this.http.post<SteinerResult>(`${this.apiUrl}/sequences/${sequenceId}/frames`, points)
+      .pipe(
+        catchError(this.handleError)
+      );
+  }
+
   private handleError(error: HttpErrorResponse): Observable<never> {
     let errorMessage = 'An error occurred while computing the Steiner tree.';
 
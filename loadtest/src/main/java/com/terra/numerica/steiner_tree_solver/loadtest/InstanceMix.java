@@ -0,0 +1,164 @@
+package com.terra.numerica.steiner_tree_solver.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Weighted set of request classes, each with a point layout, a size range and solve parameters.
+ * <p>
+ * A mix file has one class per line: {@code <weight> <layout> <size> <quality> <deadline-ms>},
+ * where {@code size} is either {@code n} or {@code min-max} (drawn log-uniformly, so that every
+ * order of magnitude of the range is equally represented). Blank lines and {@code #} comments are
+ * ignored. Points are generated in the {@code [0, 1000]} square.
+ */
+final class InstanceMix {
+
+    private static final double SIDE = 1000;
+
+    enum Layout {
+        /** Independent uniform points. */
+        UNIFORM,
+        /** Gaussian clusters of about 50 points each. */
+        CLUSTERED,
+        /** Square grid with each point jittered by a quarter of the spacing. */
+        GRID
+    }
+
+    /** One line of a mix file. */
+    record Entry(String label, double weight, Layout layout, int minSize, int maxSize,
+                 String quality, long deadlineMillis) {}
+
+    /** A generated request body and the mix entry it was drawn from. */
+    record Instance(Entry entry, int size, byte[] body) {}
+
+    private final String name;
+    private final List<Entry> entries;
+    private final double totalWeight;
+
+    private InstanceMix(String name, List<Entry> entries) {
+        if (entries.isEmpty()) throw new IllegalArgumentException("Mix " + name + " has no entries");
+        this.name = name;
+        this.entries = List.copyOf(entries);
+        this.totalWeight = entries.stream().mapToDouble(Entry::weight).sum();
+    }
+
+    /** Reads a mix file, or a built-in mix ({@code default}, {@code interactive}, {@code large}) by name. */
+    static InstanceMix load(String fileOrName) throws IOException {
+        Path file = Path.of(fileOrName);
+        if (Files.isRegularFile(file)) {
+            return parse(file.getFileName().toString(), Files.readString(file, StandardCharsets.UTF_8));
+        }
+        try (InputStream in = InstanceMix.class.getResourceAsStream("/mixes/" + fileOrName + ".mix")) {
+            if (in == null) throw new IllegalArgumentException("No mix file or built-in mix named " + fileOrName);
+            return parse(fileOrName, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    static InstanceMix parse(String name, String text) {
+        List<Entry> entries = new ArrayList<>();
+        String[] lines = text.split("\\R");
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i].replaceFirst("#.*", "").trim();
+            if (line.isEmpty()) continue;
+            String[] f = line.split("\\s+");
+            if (f.length != 5) {
+                throw new IllegalArgumentException(name + ":" + (i + 1) + ": expected 5 fields, found " + f.length);
+            }
+            try {
+                double weight = Double.parseDouble(f[0]);
+                Layout layout = Layout.valueOf(f[1].toUpperCase(Locale.ROOT));
+                String[] range = f[2].split("-", 2);
+                int min = Integer.parseInt(range[0]);
+                int max = range.length == 2 ? Integer.parseInt(range[1]) : min;
+                String quality = f[3].toUpperCase(Locale.ROOT);
+                long deadline = Long.parseLong(f[4]);
+                if (weight <= 0 || min < 2 || max < min || deadline <= 0) {
+                    throw new IllegalArgumentException("out of range");
+                }
+                String label = f[1].toLowerCase(Locale.ROOT) + ":" + f[2] + ":" + quality;
+                entries.add(new Entry(label, weight, layout, min, max, quality, deadline));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(name + ":" + (i + 1) + ": invalid entry '" + line + "'", e);
+            }
+        }
+        return new InstanceMix(name, entries);
+    }
+
+    String name() {
+        return name;
+    }
+
+    List<Entry> entries() {
+        return entries;
+    }
+
+    /** Draws an entry by weight, then a size and a point set, as a JSON request body. */
+    Instance next(SplittableRandom random) {
+        double pick = random.nextDouble() * totalWeight;
+        Entry entry = entries.get(entries.size() - 1);
+        for (Entry e : entries) {
+            if ((pick -= e.weight()) < 0) {
+                entry = e;
+                break;
+            }
+        }
+        int size = entry.minSize() == entry.maxSize() ? entry.minSize()
+            : (int) Math.round(Math.exp(Math.log(entry.minSize())
+                + random.nextDouble() * (Math.log(entry.maxSize()) - Math.log(entry.minSize()))));
+        return new Instance(entry, size, json(points(entry.layout(), size, random)));
+    }
+
+    private static double[] points(Layout layout, int n, SplittableRandom random) {
+        double[] xy = new double[2 * n];
+        switch (layout) {
+            case UNIFORM -> {
+                for (int i = 0; i < 2 * n; i++) xy[i] = random.nextDouble() * SIDE;
+            }
+            case CLUSTERED -> {
+                int clusters = Math.max(1, n / 50);
+                double[] centres = new double[2 * clusters];
+                for (int c = 0; c < 2 * clusters; c++) centres[c] = SIDE * (0.1 + 0.8 * random.nextDouble());
+                double spread = SIDE / (4 * Math.sqrt(clusters) + 4);
+                for (int i = 0; i < n; i++) {
+                    int c = random.nextInt(clusters);
+                    xy[2 * i] = clamp(centres[2 * c] + gaussian(random) * spread);
+                    xy[2 * i + 1] = clamp(centres[2 * c + 1] + gaussian(random) * spread);
+                }
+            }
+            case GRID -> {
+                int side = (int) Math.ceil(Math.sqrt(n));
+                double spacing = SIDE / side;
+                for (int i = 0; i < n; i++) {
+                    xy[2 * i] = clamp((i % side + 0.5 + (random.nextDouble() - 0.5) / 2) * spacing);
+                    xy[2 * i + 1] = clamp((i / side + 0.5 + (random.nextDouble() - 0.5) / 2) * spacing);
+                }
+            }
+        }
+        return xy;
+    }
+
+    private static double gaussian(SplittableRandom random) {
+        double u = 1 - random.nextDouble(), v = random.nextDouble();
+        return Math.sqrt(-2 * Math.log(u)) * Math.cos(2 * Math.PI * v);
+    }
+
+    private static double clamp(double v) {
+        return Math.max(0, Math.min(SIDE, v));
+    }
+
+    private static byte[] json(double[] xy) {
+        StringBuilder out = new StringBuilder(xy.length * 14 + 2).append('[');
+        for (int i = 0; i < xy.length; i += 2) {
+            if (i > 0) out.append(',');
+            out.append(String.format(Locale.ROOT, "{\"x\":%.3f,\"y\":%.3f}", xy[i], xy[i + 1]));
+        }
+        return out.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
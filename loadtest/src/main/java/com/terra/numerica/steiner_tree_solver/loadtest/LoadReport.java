@@ -0,0 +1,149 @@
+package com.terra.numerica.steiner_tree_solver.loadtest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Outcomes of the measured requests, summarised overall and per mix entry as latency
+ * percentiles, throughput and error counts.
+ * <p>
+ * Latency runs from the scheduled send time, not the actual one, so that a client falling behind
+ * its schedule shows up as latency instead of silently lowering the offered load. Percentiles
+ * cover every measured request, errors included. A request that failed without a response
+ * (timeout, connection refused, client overload) counts as taking the request timeout, or longer
+ * if it failed later than that, so that a saturated server worsens the tail instead of dropping
+ * its slowest requests from it.
+ */
+final class LoadReport {
+
+    /** Error kind of a request that got no HTTP response because too many were in flight. */
+    static final String OVERLOAD = "client_overload";
+
+    private static final double[] PERCENTILES = { 0.5, 0.9, 0.99, 0.999 };
+    private static final String[] PERCENTILE_NAMES = { "p50", "p90", "p99", "p999" };
+
+    private final Map<String, Bucket> byLabel = new LinkedHashMap<>();
+    private final Bucket total = new Bucket();
+
+    private static final class Bucket {
+        long sent, ok;
+        final Map<String, Long> errors = new TreeMap<>();
+        long[] latencies = new long[256];
+        int size;
+
+        void add(long latencyNanos, String error) {
+            sent++;
+            if (error == null) ok++;
+            else errors.merge(error, 1L, Long::sum);
+            if (size == latencies.length) latencies = Arrays.copyOf(latencies, 2 * size);
+            latencies[size++] = latencyNanos;
+        }
+    }
+
+    LoadReport(List<InstanceMix.Entry> entries) {
+        for (InstanceMix.Entry e : entries) byLabel.put(e.label(), new Bucket());
+    }
+
+    /**
+     * Records a measured request.
+     *
+     * @param latencyNanos time from the scheduled send to the response; without a response, to
+     *                     the failure, and at least the request timeout
+     * @param error        {@code null} on a 2xx response, otherwise the error kind
+     */
+    synchronized void record(InstanceMix.Entry entry, long latencyNanos, String error) {
+        byLabel.get(entry.label()).add(latencyNanos, error);
+        total.add(latencyNanos, error);
+    }
+
+    /** Report as a JSON object; {@code settings} are written first, as given. */
+    synchronized String toJson(Map<String, Object> settings, double measuredSeconds) {
+        StringBuilder out = new StringBuilder("{\n");
+        for (Map.Entry<String, Object> s : settings.entrySet()) {
+            out.append("  ").append(quote(s.getKey())).append(": ").append(value(s.getValue())).append(",\n");
+        }
+        out.append("  \"measuredSeconds\": ").append(number(measuredSeconds)).append(",\n");
+        bucket(out, total, measuredSeconds, "  ");
+        out.append(",\n  \"classes\": [");
+        boolean first = true;
+        for (Map.Entry<String, Bucket> e : byLabel.entrySet()) {
+            out.append(first ? "\n" : ",\n").append("    {\n      \"label\": ").append(quote(e.getKey())).append(",\n");
+            bucket(out, e.getValue(), measuredSeconds, "      ");
+            out.append("\n    }");
+            first = false;
+        }
+        return out.append("\n  ]\n}\n").toString();
+    }
+
+    /** One line per mix entry and a total line, for the console. */
+    synchronized String toTable(double measuredSeconds) {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format(Locale.ROOT, "%-32s %8s %8s %9s %9s %9s %9s %10s",
+            "class", "sent", "errors", "p50 ms", "p99 ms", "p999 ms", "max ms", "ok/s"));
+        for (Map.Entry<String, Bucket> e : byLabel.entrySet()) lines.add(row(e.getKey(), e.getValue(), measuredSeconds));
+        lines.add(row("total", total, measuredSeconds));
+        return String.join("\n", lines);
+    }
+
+    private static String row(String label, Bucket b, double seconds) {
+        long[] sorted = Arrays.copyOf(b.latencies, b.size);
+        Arrays.sort(sorted);
+        return String.format(Locale.ROOT, "%-32s %8d %8d %9.1f %9.1f %9.1f %9.1f %10.2f",
+            label, b.sent, b.sent - b.ok, millis(percentile(sorted, 0.5)), millis(percentile(sorted, 0.99)),
+            millis(percentile(sorted, 0.999)), millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1]),
+            b.ok / seconds);
+    }
+
+    private static void bucket(StringBuilder out, Bucket b, double seconds, String indent) {
+        long[] sorted = Arrays.copyOf(b.latencies, b.size);
+        Arrays.sort(sorted);
+        out.append(indent).append("\"sent\": ").append(b.sent).append(",\n");
+        out.append(indent).append("\"ok\": ").append(b.ok).append(",\n");
+        out.append(indent).append("\"errorRate\": ").append(number(b.sent == 0 ? 0 : (double) (b.sent - b.ok) / b.sent)).append(",\n");
+        out.append(indent).append("\"errors\": {");
+        boolean first = true;
+        for (Map.Entry<String, Long> e : b.errors.entrySet()) {
+            out.append(first ? "" : ", ").append(quote(e.getKey())).append(": ").append(e.getValue());
+            first = false;
+        }
+        out.append("},\n");
+        out.append(indent).append("\"throughputPerSecond\": ").append(number(b.ok / seconds)).append(",\n");
+        out.append(indent).append("\"latencyMillis\": {");
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            out.append(quote(PERCENTILE_NAMES[i])).append(": ")
+               .append(number(millis(percentile(sorted, PERCENTILES[i])))).append(", ");
+        }
+        double mean = 0;
+        for (long l : sorted) mean += l;
+        out.append("\"mean\": ").append(number(millis(sorted.length == 0 ? 0 : mean / sorted.length)));
+        out.append(", \"max\": ").append(number(millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1]))).append('}');
+    }
+
+    /** Nearest-rank percentile of a sorted array, 0 if empty. */
+    static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        int rank = (int) Math.ceil(p * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length, rank) - 1)];
+    }
+
+    private static double millis(double nanos) {
+        return nanos / 1e6;
+    }
+
+    private static String value(Object v) {
+        return v instanceof Number n ? number(n.doubleValue()) : quote(String.valueOf(v));
+    }
+
+    private static String number(double v) {
+        return v == Math.rint(v) && Math.abs(v) < 1e15 ? Long.toString((long) v) : String.format(Locale.ROOT, "%.3f", v);
+    }
+
+    private static String quote(String s) {
+        return '"' + s.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+    }
+}
@@ -0,0 +1,204 @@
+package com.terra.numerica.steiner_tree_solver.loadtest;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load generator for {@code POST /api/steiner/solve}.
+ * <p>
+ * Requests are sent on a fixed schedule, Poisson arrivals at {@code --rate} per second by
+ * default, whatever the response times: a slow server accumulates requests in flight instead of
+ * slowing the client down, as real independent users would. Every request body is generated from
+ * the instance mix before the run starts, so that generation cost never delays the schedule, and
+ * sent with the asynchronous {@link HttpClient}. Requests scheduled during the warm-up are sent
+ * but not measured.
+ * <p>
+ * The report ({@link LoadReport}) is printed as a table and written as JSON to {@code --report}.
+ */
+public final class LoadTest {
+
+    private static final String USAGE = String.join("\n",
+        "Usage: java -jar steiner-loadtest.jar [options]",
+        "  --url <url>            backend base URL (default: http://localhost:8080)",
+        "  --path <path>          endpoint (default: /api/steiner/solve)",
+        "  --mix <file|name>      mix file, or built-in default, interactive, large (default: default)",
+        "  --rate <r>             offered load in requests per second (default: 10)",
+        "  --duration <s>         measured seconds (default: 60)",
+        "  --warmup <s>           unmeasured seconds before the measurement (default: 10)",
+        "  --arrivals <a>         poisson or constant inter-arrival times (default: poisson)",
+        "  --timeout-ms <ms>      per-request timeout (default: 30000)",
+        "  --max-in-flight <n>    requests beyond this are counted as client_overload (default: 1000)",
+        "  --seed <n>             seed for arrivals and instances (default: 42)",
+        "  --report <file>        JSON report (default: loadtest-report.json)");
+
+    private LoadTest() {}
+
+    public static void main(String[] args) throws Exception {
+        String url = "http://localhost:8080", path = "/api/steiner/solve", mixName = "default";
+        double rate = 10, duration = 60, warmup = 10;
+        boolean poisson = true;
+        long timeoutMillis = 30_000, seed = 42;
+        int maxInFlight = 1000;
+        Path report = Path.of("loadtest-report.json");
+        InstanceMix mix;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--url" -> url = args[++i].replaceFirst("/+$", "");
+                    case "--path" -> path = args[++i];
+                    case "--mix" -> mixName = args[++i];
+                    case "--rate" -> rate = Double.parseDouble(args[++i]);
+                    case "--duration" -> duration = Double.parseDouble(args[++i]);
+                    case "--warmup" -> warmup = Double.parseDouble(args[++i]);
+                    case "--arrivals" -> {
+                        String a = args[++i].toLowerCase(Locale.ROOT);
+                        if (!a.equals("poisson") && !a.equals("constant")) {
+                            throw new IllegalArgumentException("Unknown arrivals " + a);
+                        }
+                        poisson = a.equals("poisson");
+                    }
+                    case "--timeout-ms" -> timeoutMillis = Long.parseLong(args[++i]);
+                    case "--max-in-flight" -> maxInFlight = Integer.parseInt(args[++i]);
+                    case "--seed" -> seed = Long.parseLong(args[++i]);
+                    case "--report" -> report = Path.of(args[++i]);
+                    default -> throw new IllegalArgumentException("Unexpected argument " + args[i]);
+                }
+            }
+            if (rate <= 0 || duration <= 0 || warmup < 0 || timeoutMillis <= 0 || maxInFlight < 1) {
+                throw new IllegalArgumentException("Rate, duration, timeout and max in flight must be positive");
+            }
+            mix = InstanceMix.load(mixName);
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            System.err.println(e.getMessage() != null ? e.getMessage() : "Missing option value");
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("url", url + path);
+        settings.put("mix", mix.name());
+        settings.put("arrivals", poisson ? "poisson" : "constant");
+        settings.put("offeredRatePerSecond", rate);
+        settings.put("warmupSeconds", warmup);
+        settings.put("durationSeconds", duration);
+        settings.put("timeoutMillis", timeoutMillis);
+        settings.put("maxInFlight", maxInFlight);
+        settings.put("seed", seed);
+
+        LoadReport result = run(URI.create(url + path), mix, rate, warmup, duration, poisson,
+            timeoutMillis, maxInFlight, seed);
+
+        System.out.println(result.toTable(duration));
+        Files.writeString(report, result.toJson(settings, duration), StandardCharsets.UTF_8);
+        System.out.println("Report written to " + report.toAbsolutePath());
+    }
+
+    /** A request of the schedule: when to send it, relative to the start, and what. */
+    private record Scheduled(long offsetNanos, boolean measured, InstanceMix.Instance instance) {}
+
+    static LoadReport run(URI uri, InstanceMix mix, double rate, double warmup, double duration,
+                          boolean poisson, long timeoutMillis, int maxInFlight, long seed)
+            throws InterruptedException {
+        SplittableRandom random = new SplittableRandom(seed);
+        long warmupNanos = (long) (warmup * 1e9), endNanos = warmupNanos + (long) (duration * 1e9);
+        double meanGap = 1e9 / rate;
+
+        List<Scheduled> schedule = new ArrayList<>();
+        long bytes = 0;
+        for (double t = 0; t < endNanos; t += poisson ? -Math.log(1 - random.nextDouble()) * meanGap : meanGap) {
+            InstanceMix.Instance instance = mix.next(random);
+            bytes += instance.body().length;
+            schedule.add(new Scheduled((long) t, t >= warmupNanos, instance));
+        }
+        System.out.printf(Locale.ROOT, "%d requests scheduled (%.1f MB of request bodies) against %s%n",
+            schedule.size(), bytes / 1e6, uri);
+
+        LoadReport report = new LoadReport(mix.entries());
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "loadtest-http-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofMillis(timeoutMillis))
+            .executor(executor)
+            .build();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+
+        long start = System.nanoTime() + 50_000_000L;
+        for (Scheduled s : schedule) {
+            long due = start + s.offsetNanos();
+            for (long wait; (wait = due - System.nanoTime()) > 0; ) LockSupport.parkNanos(wait);
+
+            InstanceMix.Instance instance = s.instance();
+            if (!inFlight.tryAcquire()) {
+                if (s.measured()) report.record(instance.entry(), timeoutNanos, LoadReport.OVERLOAD);
+                continue;
+            }
+            HttpRequest request = HttpRequest.newBuilder(uri(uri, instance.entry()))
+                .timeout(Duration.ofMillis(timeoutMillis))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(instance.body()))
+                .build();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, failure) -> {
+                long latency = System.nanoTime() - due;
+                inFlight.release();
+                if (!s.measured()) return;
+                if (failure != null) {
+                    report.record(instance.entry(), Math.max(latency, timeoutNanos), errorKind(failure));
+                } else {
+                    int status = response.statusCode();
+                    report.record(instance.entry(), latency, status / 100 == 2 ? null : "http_" + status);
+                }
+            });
+        }
+
+        // Wait for the stragglers: every request either completes or times out
+        if (!inFlight.tryAcquire(maxInFlight, timeoutMillis + 5_000, TimeUnit.MILLISECONDS)) {
+            System.err.println("Some requests were still in flight at the end of the run");
+        }
+        executor.shutdownNow();
+        return report;
+    }
+
+    /** Adds the mix entry's quality and deadline as query parameters. */
+    private static URI uri(URI base, InstanceMix.Entry entry) {
+        return URI.create(base + "?quality=" + entry.quality() + "&deadlineMs=" + entry.deadlineMillis());
+    }
+
+    private static String errorKind(Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+            ? failure.getCause() : failure;
+        if (cause instanceof HttpTimeoutException) return "timeout";
+        if (cause instanceof ConnectException) return "connect";
+        if (cause instanceof IOException) return "io";
+        return cause.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,157 @@
+package com.terra.numerica.steiner_tree_solver.cli;
+
+import com.terra.numerica.steiner_tree_solver.model.Point;
+import com.terra.numerica.steiner_tree_solver.solver.CostModel;
+import com.terra.numerica.steiner_tree_solver.solver.DelaunaySolver;
+import com.terra.numerica.steiner_tree_solver.solver.ExactSolver;
+import com.terra.numerica.steiner_tree_solver.solver.HeuristicSolver;
+import com.terra.numerica.steiner_tree_solver.solver.IndexedTree;
+import com.terra.numerica.steiner_tree_solver.solver.MetaheuristicSolver;
+import com.terra.numerica.steiner_tree_solver.solver.MstSolver;
+import com.terra.numerica.steiner_tree_solver.solver.MultilevelSolver;
+import com.terra.numerica.steiner_tree_solver.solver.PartitionedSolver;
+import com.terra.numerica.steiner_tree_solver.solver.Quality;
+import com.terra.numerica.steiner_tree_solver.solver.SolveOptions;
+import com.terra.numerica.steiner_tree_solver.solver.SolverDispatcher;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Solves every instance file of a directory in parallel, without Spring or HTTP.
+ * <p>
+ * Each {@code *.txt} / {@code *.pts} file is read as an instance (see {@link InstanceFiles}), solved
+ * through the same {@link SolverDispatcher} as the backend, and its tree written to
+ * {@code <out>/<name>.tree}. One tab-separated timing line is printed per instance as it
+ * completes. Instances run one per worker thread; the annealing and MST strategies run
+ * single-threaded on the worker solving the instance, so that workers neither compete for cores
+ * nor queue behind a shared pool.
+ */
+public final class BatchSolver {
+
+    private static final String USAGE = String.join("\n",
+        "Usage: java -jar steiner-core.jar <instance-dir> [options]",
+        "  --out <dir>          output directory (default: <instance-dir>/out)",
+        "  --quality <q>        FAST, BALANCED or OPTIMAL (default: OPTIMAL)",
+        "  --deadline-ms <ms>   time budget per instance (default: 2000)",
+        "  --threads <n>        worker threads (default: available processors)",
+        "  --no-calibrate       skip cost model calibration at startup");
+
+    private BatchSolver() {}
+
+    public static void main(String[] args) throws Exception {
+        Path inputDir = null, outputDir = null;
+        SolveOptions options = SolveOptions.defaults();
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean calibrate = true;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--out" -> outputDir = Path.of(args[++i]);
+                    case "--quality" -> options = options.withQuality(
+                        Quality.valueOf(args[++i].toUpperCase(Locale.ROOT)));
+                    case "--deadline-ms" -> options = options.withDeadlineMillis(Long.parseLong(args[++i]));
+                    case "--threads" -> threads = Integer.parseInt(args[++i]);
+                    case "--no-calibrate" -> calibrate = false;
+                    default -> {
+                        if (args[i].startsWith("--") || inputDir != null) {
+                            throw new IllegalArgumentException("Unexpected argument " + args[i]);
+                        }
+                        inputDir = Path.of(args[i]);
+                    }
+                }
+            }
+            if (inputDir == null) throw new IllegalArgumentException("Missing instance directory");
+            if (threads < 1) throw new IllegalArgumentException("At least one thread is required");
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            System.err.println(e.getMessage() != null ? e.getMessage() : "Missing option value");
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+        if (outputDir == null) outputDir = inputDir.resolve("out");
+
+        System.exit(run(inputDir, outputDir, options, threads, calibrate));
+    }
+
+    /**
+     * Solves the instances of {@code inputDir} into {@code outputDir}.
+     *
+     * @return the process exit code: 0 if every instance was solved, 1 otherwise
+     */
+    static int run(Path inputDir, Path outputDir, SolveOptions options, int threads, boolean calibrate)
+            throws IOException, InterruptedException {
+        List<Path> instances = new ArrayList<>();
+        try (DirectoryStream<Path> dir = Files.newDirectoryStream(inputDir, "*.{txt,pts}")) {
+            for (Path file : dir) {
+                if (Files.isRegularFile(file)) instances.add(file);
+            }
+        }
+        instances.sort(null);
+        Files.createDirectories(outputDir);
+
+        SolverDispatcher dispatcher = new SolverDispatcher(List.of(
+            new ExactSolver(), new MetaheuristicSolver(1, 42L), new HeuristicSolver(),
+            new DelaunaySolver(), new PartitionedSolver(), new MultilevelSolver(),
+            new MstSolver()), new CostModel());
+        if (calibrate) dispatcher.calibrate();
+
+        System.out.println("instance\tterminals\tstrategy\tlength\tmillis");
+        AtomicInteger failures = new AtomicInteger();
+        long start = System.nanoTime();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> tasks = new ArrayList<>(instances.size());
+            for (Path file : instances) {
+                tasks.add(executor.submit(() -> {
+                    if (!solve(file, outputDir, dispatcher, options)) failures.incrementAndGet();
+                }));
+            }
+            for (Future<?> task : tasks) {
+                try {
+                    task.get();
+                } catch (ExecutionException e) {
+                    failures.incrementAndGet();
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        System.out.printf(Locale.ROOT, "# %d instances, %d failed, %d ms%n",
+            instances.size(), failures.get(), (System.nanoTime() - start) / 1_000_000);
+        return failures.get() == 0 ? 0 : 1;
+    }
+
+    private static boolean solve(Path file, Path outputDir, SolverDispatcher dispatcher, SolveOptions options) {
+        String name = file.getFileName().toString().replaceFirst("\\.[^.]+$", "");
+        try {
+            List<Point> points = InstanceFiles.readPoints(file);
+            if (points.size() < 2) throw new IllegalArgumentException("At least 2 points are required");
+
+            long start = System.nanoTime();
+            IndexedTree tree = dispatcher.solveIndexed(points, options);
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            InstanceFiles.writeTree(tree, outputDir.resolve(name + ".tree"));
+
+            System.out.printf(Locale.ROOT, "%s\t%d\t%s\t%.6f\t%d%n",
+                name, points.size(), tree.getStrategy(), tree.totalLength(), millis);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            System.err.println(name + "\tERROR\t" + e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.terra.numerica.steiner_tree_solver.cli;
+
+import com.terra.numerica.steiner_tree_solver.model.Point;
+import com.terra.numerica.steiner_tree_solver.solver.IndexedTree;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Line-oriented instance and tree formats of the batch solver, read and written one line at a
+ * time.
+ * <p>
+ * An instance file holds one terminal per line as {@code x y}, separated by spaces, tabs or a
+ * comma. Blank lines, {@code #} comments and a leading single-number count line (as in
+ * single-instance OR-Library files) are ignored.
+ * <p>
+ * A tree file starts with a {@code #} summary line, followed by one {@code S x y} line per
+ * Steiner point and one {@code E a b} line per edge. Edge endpoints are node indices: terminals
+ * are numbered from 0 in input order, Steiner points follow in the order of their {@code S} lines.
+ */
+final class InstanceFiles {
+
+    private InstanceFiles() {}
+
+    static List<Point> readPoints(Path file) throws IOException {
+        List<Point> points = new ArrayList<>();
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = in.readLine()) != null) {
+                lineNumber++;
+                int comment = line.indexOf('#');
+                if (comment >= 0) line = line.substring(0, comment);
+                line = line.strip();
+                if (line.isEmpty()) continue;
+
+                String[] fields = line.split("[\\s,]+");
+                if (fields.length == 1 && points.isEmpty()) continue;
+                if (fields.length != 2) {
+                    throw new IOException(file + ":" + lineNumber + ": expected \"x y\"");
+                }
+                try {
+                    points.add(new Point(Double.parseDouble(fields[0]), Double.parseDouble(fields[1])));
+                } catch (NumberFormatException e) {
+                    throw new IOException(file + ":" + lineNumber + ": " + e.getMessage());
+                }
+            }
+        }
+        return points;
+    }
+
+    static void writeTree(IndexedTree tree, Path file) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writeTree(tree, out);
+        }
+    }
+
+    static void writeTree(IndexedTree tree, Writer out) throws IOException {
+        out.write("# strategy=" + tree.getStrategy()
+            + " terminals=" + tree.terminalCount()
+            + " steiner=" + tree.steinerCount()
+            + " edges=" + tree.edgeCount()
+            + " length=" + tree.totalLength() + "\n");
+        for (int i = tree.terminalCount(); i < tree.nodeCount(); i++) {
+            out.write("S " + tree.x(i) + " " + tree.y(i) + "\n");
+        }
+        for (int e = 0; e < tree.edgeCount(); e++) {
+            out.write("E " + tree.edgeStart(e) + " " + tree.edgeEnd(e) + "\n");
+        }
+    }
+}
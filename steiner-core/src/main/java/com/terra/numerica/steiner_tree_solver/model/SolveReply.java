@@ -0,0 +1,51 @@
+package com.terra.numerica.steiner_tree_solver.model;
+
+/**
+ * Message pushed back on the live WebSocket channel: either the result for the update
+ * {@code seq}, or an error describing why that update could not be solved.
+ */
+public class SolveReply {
+    private long seq;
+    private SteinerResult result;
+    private String error;
+
+    public SolveReply() {}
+
+    public static SolveReply result(long seq, SteinerResult result) {
+        SolveReply reply = new SolveReply();
+        reply.setSeq(seq);
+        reply.setResult(result);
+        return reply;
+    }
+
+    public static SolveReply error(long seq, String error) {
+        SolveReply reply = new SolveReply();
+        reply.setSeq(seq);
+        reply.setError(error);
+        return reply;
+    }
+
+    public long getSeq() {
+        return seq;
+    }
+
+    public void setSeq(long seq) {
+        this.seq = seq;
+    }
+
+    public SteinerResult getResult() {
+        return result;
+    }
+
+    public void setResult(SteinerResult result) {
+        this.result = result;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
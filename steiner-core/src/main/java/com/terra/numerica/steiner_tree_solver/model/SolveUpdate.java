@@ -0,0 +1,57 @@
+package com.terra.numerica.steiner_tree_solver.model;
+
+import java.util.List;
+
+/**
+ * Point-set update sent by a client over the live WebSocket channel.
+ * {@code seq} is chosen by the client and echoed in the matching {@link SolveReply}.
+ */
+public class SolveUpdate {
+    private long seq;
+    private List<Point> points;
+    private String quality;
+    private Long deadlineMs;
+    private Double targetGap;
+
+    public SolveUpdate() {}
+
+    public long getSeq() {
+        return seq;
+    }
+
+    public void setSeq(long seq) {
+        this.seq = seq;
+    }
+
+    public List<Point> getPoints() {
+        return points;
+    }
+
+    public void setPoints(List<Point> points) {
+        this.points = points;
+    }
+
+    public String getQuality() {
+        return quality;
+    }
+
+    public void setQuality(String quality) {
+        this.quality = quality;
+    }
+
+    public Long getDeadlineMs() {
+        return deadlineMs;
+    }
+
+    public void setDeadlineMs(Long deadlineMs) {
+        this.deadlineMs = deadlineMs;
+    }
+
+    public Double getTargetGap() {
+        return targetGap;
+    }
+
+    public void setTargetGap(Double targetGap) {
+        this.targetGap = targetGap;
+    }
+}
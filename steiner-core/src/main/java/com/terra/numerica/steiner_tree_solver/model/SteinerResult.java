@@ -8,6 +8,9 @@ public class SteinerResult {
     private double totalLength;
     private List<Point> steinerPoints;
     private List<Point> terminalPoints;
+    private String strategy;
+    private double lowerBound;
+    private double gap;
 
     public SteinerResult() {
         this.edges = new ArrayList<>();
@@ -56,4 +59,30 @@ public class SteinerResult {
     public void setTerminalPoints(List<Point> terminalPoints) {
         this.terminalPoints = terminalPoints;
     }
+
+    public String getStrategy() {
+        return strategy;
+    }
+
+    public void setStrategy(String strategy) {
+        this.strategy = strategy;
+    }
+
+    /** Lower bound on the length of the optimal tree, 0 if none was computed. */
+    public double getLowerBound() {
+        return lowerBound;
+    }
+
+    public void setLowerBound(double lowerBound) {
+        this.lowerBound = lowerBound;
+    }
+
+    /** Relative gap {@code (totalLength - lowerBound) / lowerBound}: the optimum is at most this much shorter. */
+    public double getGap() {
+        return gap;
+    }
+
+    public void setGap(double gap) {
+        this.gap = gap;
+    }
 }
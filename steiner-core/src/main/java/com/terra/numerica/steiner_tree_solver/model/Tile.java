@@ -0,0 +1,68 @@
+package com.terra.numerica.steiner_tree_solver.model;
+
+/**
+ * Viewport query result over a stored tree, simplified for the requested resolution.
+ * Coordinates are flattened to keep the payload small: {@code edges} holds
+ * {@code x1, y1, x2, y2} per edge and the point arrays hold {@code x, y} per point.
+ */
+public class Tile {
+    private double[] edges;
+    private double[] terminalPoints;
+    private double[] steinerPoints;
+    private int edgesInView;
+    private int culledEdges;
+    private int mergedEdges;
+
+    public Tile() {}
+
+    public double[] getEdges() {
+        return edges;
+    }
+
+    public void setEdges(double[] edges) {
+        this.edges = edges;
+    }
+
+    public double[] getTerminalPoints() {
+        return terminalPoints;
+    }
+
+    public void setTerminalPoints(double[] terminalPoints) {
+        this.terminalPoints = terminalPoints;
+    }
+
+    public double[] getSteinerPoints() {
+        return steinerPoints;
+    }
+
+    public void setSteinerPoints(double[] steinerPoints) {
+        this.steinerPoints = steinerPoints;
+    }
+
+    /** Number of edges intersecting the viewport before simplification. */
+    public int getEdgesInView() {
+        return edgesInView;
+    }
+
+    public void setEdgesInView(int edgesInView) {
+        this.edgesInView = edgesInView;
+    }
+
+    /** Edges dropped because both endpoints fall in the same pixel. */
+    public int getCulledEdges() {
+        return culledEdges;
+    }
+
+    public void setCulledEdges(int culledEdges) {
+        this.culledEdges = culledEdges;
+    }
+
+    /** Sub-pixel edges dropped because another edge already joins the same two pixels. */
+    public int getMergedEdges() {
+        return mergedEdges;
+    }
+
+    public void setMergedEdges(int mergedEdges) {
+        this.mergedEdges = mergedEdges;
+    }
+}
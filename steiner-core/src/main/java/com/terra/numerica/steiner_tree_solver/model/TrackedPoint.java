@@ -0,0 +1,24 @@
+package com.terra.numerica.steiner_tree_solver.model;
+
+/**
+ * Terminal of a frame in a point-set sequence. {@code id} identifies the same terminal
+ * across consecutive frames.
+ */
+public class TrackedPoint extends Point {
+    private String id;
+
+    public TrackedPoint() {}
+
+    public TrackedPoint(String id, double x, double y) {
+        super(x, y);
+        this.id = id;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+}
@@ -0,0 +1,100 @@
+package com.terra.numerica.steiner_tree_solver.model;
+
+/**
+ * Description of a solved tree stored server-side, returned when the tree is created.
+ * The bounds cover every terminal and Steiner point.
+ */
+public class TreeSummary {
+    private String id;
+    private String strategy;
+    private int terminalCount;
+    private int steinerCount;
+    private int edgeCount;
+    private double totalLength;
+    private double minX;
+    private double minY;
+    private double maxX;
+    private double maxY;
+
+    public TreeSummary() {}
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getStrategy() {
+        return strategy;
+    }
+
+    public void setStrategy(String strategy) {
+        this.strategy = strategy;
+    }
+
+    public int getTerminalCount() {
+        return terminalCount;
+    }
+
+    public void setTerminalCount(int terminalCount) {
+        this.terminalCount = terminalCount;
+    }
+
+    public int getSteinerCount() {
+        return steinerCount;
+    }
+
+    public void setSteinerCount(int steinerCount) {
+        this.steinerCount = steinerCount;
+    }
+
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    public void setEdgeCount(int edgeCount) {
+        this.edgeCount = edgeCount;
+    }
+
+    public double getTotalLength() {
+        return totalLength;
+    }
+
+    public void setTotalLength(double totalLength) {
+        this.totalLength = totalLength;
+    }
+
+    public double getMinX() {
+        return minX;
+    }
+
+    public void setMinX(double minX) {
+        this.minX = minX;
+    }
+
+    public double getMinY() {
+        return minY;
+    }
+
+    public void setMinY(double minY) {
+        this.minY = minY;
+    }
+
+    public double getMaxX() {
+        return maxX;
+    }
+
+    public void setMaxX(double maxX) {
+        this.maxX = maxX;
+    }
+
+    public double getMaxY() {
+        return maxY;
+    }
+
+    public void setMaxY(double maxY) {
+        this.maxY = maxY;
+    }
+}
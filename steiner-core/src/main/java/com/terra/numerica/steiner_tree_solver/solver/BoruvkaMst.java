@@ -0,0 +1,505 @@
+package com.terra.numerica.steiner_tree_solver.solver;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntConsumer;
+
+/**
+ * Euclidean MST of large inputs on a fork/join pool: Borůvka rounds over the graph joining every
+ * point to its {@link #NEIGHBOURS} nearest neighbours.
+ * <p>
+ * The points are bucketed in a uniform grid of about two points per cell, and the neighbours of
+ * every point are found in parallel by searching the rings of cells around it. Each Borůvka round
+ * labels every point with its component, lets every point propose its nearest neighbour in another
+ * component, keeps the shortest proposal of each component with a compare-and-set loop, and merges
+ * along the kept edges in a lock-free union-find. Edges are ordered by length, then by endpoints,
+ * so the kept edges never form a cycle and the tree does not depend on the scheduling. A neighbour
+ * found in the point's own component is never looked at again, so the rounds cost O(nk) in total.
+ * <p>
+ * A point whose neighbours all lie in its own component searches up to {@link #SEARCH_RINGS}
+ * rings of cells for a point outside that could beat the component's proposal; when it finds
+ * none, the radius searched bounds the edges it could still propose. A component only merges
+ * along a proposal no longer than the bounds of its members, so every merge is along the shortest
+ * edge leaving the component, which belongs to the MST. Components left without a proposal, or
+ * without a safe one, typically groups of points further from each other than the rings searched,
+ * are joined by Kruskal over the Delaunay edges between them. The MST is a subgraph of the
+ * Delaunay triangulation, so the result is the exact MST. The triangulation uses floating-point
+ * predicates and a finite super-triangle, so should it miss an edge between two components, the
+ * tree is computed by Prim instead, as in {@link DelaunaySolver}.
+ */
+final class BoruvkaMst {
+
+    /** Nearest neighbours kept per point. */
+    static final int NEIGHBOURS = 10;
+
+    /** Rings of cells searched around a point whose neighbours all lie in its own component. */
+    private static final int SEARCH_RINGS = 4;
+
+    /** Points handled by a fork/join task without splitting further. */
+    private static final int GRAIN = 1024;
+
+    private static final long NO_EDGE = -1;
+
+    private BoruvkaMst() {}
+
+    /**
+     * Spanning tree of the points, as {@code n - 1} pairs of point indices.
+     *
+     * @throws SolveCancelledException if {@code options} is cancelled
+     */
+    static int[] edges(double[] xs, double[] ys, ForkJoinPool pool, SolveOptions options) {
+        int n = xs.length;
+        if (n < 2) return new int[0];
+        int k = Math.min(NEIGHBOURS, n - 1);
+
+        Grid grid = new Grid(xs, ys);
+        int[] neighbour = new int[n * k];
+        double[] distance = new double[n * k];
+        parallelFor(pool, n, options, i -> grid.nearest(i, k, neighbour, distance));
+
+        ConcurrentUnionFind uf = new ConcurrentUnionFind(n);
+        int[] component = new int[n], cursor = new int[n];
+        // Proven lower bound on the distance from a point to the nearest point outside its component
+        double[] reach = new double[n];
+        // Shortest proposal of each component, as a packed edge
+        AtomicLongArray shortest = new AtomicLongArray(n);
+        // Smallest reach over the members that could not rule out a shorter edge, as long bits
+        AtomicLongArray bound = new AtomicLongArray(n);
+        long unbounded = Double.doubleToLongBits(Double.POSITIVE_INFINITY);
+        boolean[] merged = new boolean[n];
+        int[] edges = new int[2 * (n - 1)];
+        int count = 0;
+
+        while (count < n - 1) {
+            parallelFor(pool, n, options, i -> {
+                component[i] = uf.find(i);
+                shortest.set(i, NO_EDGE);
+                bound.set(i, unbounded);
+            });
+            parallelFor(pool, n, options, i -> {
+                int c = component[i], from = i * k, j = cursor[i];
+                while (j < k && component[neighbour[from + j]] == c) j++;
+                cursor[i] = j;
+                if (j == k) {
+                    reach[i] = Math.max(reach[i], distance[from + k - 1]);
+                } else {
+                    propose(shortest, c, pack(i, neighbour[from + j]), xs, ys);
+                }
+            });
+            // Points whose neighbours are all inside: search further, or bound the component's merge
+            parallelFor(pool, n, options, i -> {
+                if (cursor[i] < k) return;
+                int c = component[i];
+                long current = shortest.get(c);
+                double limit = current == NO_EDGE ? Double.POSITIVE_INFINITY : length(current, xs, ys);
+                if (reach[i] >= limit) return;
+                int j = reach[i] >= grid.searchRadius() ? -1 : grid.nearestOutside(i, component, limit, reach);
+                if (j >= 0) {
+                    propose(shortest, c, pack(i, j), xs, ys);
+                } else if (reach[i] < limit) {
+                    long bits = Double.doubleToLongBits(reach[i]);
+                    // Bits of non-negative doubles compare like the doubles
+                    while (true) {
+                        long b = bound.get(c);
+                        if (b <= bits || bound.compareAndSet(c, b, bits)) break;
+                    }
+                }
+            });
+            parallelFor(pool, n, options, c -> {
+                long edge = shortest.get(c);
+                merged[c] = edge != NO_EDGE
+                    && length(edge, xs, ys) <= Double.longBitsToDouble(bound.get(c))
+                    && uf.union(first(edge), second(edge));
+            });
+
+            int before = count;
+            for (int c = 0; c < n; c++) {
+                if (!merged[c]) continue;
+                long edge = shortest.get(c);
+                edges[2 * count] = first(edge);
+                edges[2 * count++ + 1] = second(edge);
+            }
+            if (count == before) break;
+        }
+
+        if (count < n - 1) {
+            options.throwIfCancelled();
+            count = repair(xs, ys, uf, k, neighbour, distance, reach, pool, options, edges, count);
+        }
+        return count == n - 1 ? edges : prim(xs, ys, options);
+    }
+
+    private static int[] prim(double[] xs, double[] ys, SolveOptions options) {
+        int n = xs.length;
+        int[] parent = Geometry.mstParents(xs, ys, n, options);
+        int[] edges = new int[2 * (n - 1)];
+        for (int i = 1; i < n; i++) {
+            edges[2 * (i - 1)] = parent[i];
+            edges[2 * (i - 1) + 1] = i;
+        }
+        return edges;
+    }
+
+    private static long pack(int a, int b) {
+        return ((long) a << 32) | b;
+    }
+
+    private static int first(long edge) {
+        return (int) (edge >>> 32);
+    }
+
+    private static int second(long edge) {
+        return (int) edge;
+    }
+
+    private static double length(long edge, double[] xs, double[] ys) {
+        int a = first(edge), b = second(edge);
+        return Geometry.dist(xs[a], ys[a], xs[b], ys[b]);
+    }
+
+    /** Keeps {@code edge} as the proposal of component {@code c} if it comes first. */
+    private static void propose(AtomicLongArray shortest, int c, long edge, double[] xs, double[] ys) {
+        while (true) {
+            long current = shortest.get(c);
+            if (current != NO_EDGE && !before(edge, current, xs, ys)) return;
+            if (shortest.compareAndSet(c, current, edge)) return;
+        }
+    }
+
+    /** Orders edges by length, then by lower endpoint, then by higher endpoint. */
+    private static boolean before(long edge, long other, double[] xs, double[] ys) {
+        double length = length(edge, xs, ys), otherLength = length(other, xs, ys);
+        if (length != otherLength) return length < otherLength;
+        int a = first(edge), b = second(edge), c = first(other), d = second(other);
+        int low = Math.min(a, b), otherLow = Math.min(c, d);
+        if (low != otherLow) return low < otherLow;
+        return Math.max(a, b) < Math.max(c, d);
+    }
+
+    /**
+     * Joins the components left in {@code uf} by Kruskal over the Delaunay edges between them,
+     * or between consecutive points when the distinct points are collinear, appending the edges
+     * after the first {@code count} of {@code edges}.
+     * <p>
+     * Only the points not {@linkplain #surrounded surrounded} by their own component are
+     * triangulated: for a surrounded point {@code a} and any point {@code b} outside, a neighbour
+     * of {@code a} is closer to {@code b} than {@code a} is, so Kruskal never needs the edge from
+     * {@code a}. The Delaunay edges of a subset include those of the whole set between its points.
+     *
+     * @return the number of edges in {@code edges} afterwards
+     */
+    private static int repair(double[] xs, double[] ys, ConcurrentUnionFind uf, int k, int[] neighbour,
+                              double[] distance, double[] reach, ForkJoinPool pool, SolveOptions options,
+                              int[] edges, int count) {
+        int n = xs.length;
+        boolean[] surrounded = new boolean[n];
+        parallelFor(pool, n, options,
+            i -> surrounded[i] = surrounded(i, xs, ys, uf, k, neighbour, distance, reach));
+        int s = 0;
+        for (int i = 0; i < n; i++) if (!surrounded[i]) s++;
+        int[] kept = new int[s];
+        double[] sx = new double[s], sy = new double[s];
+        s = 0;
+        for (int i = 0; i < n; i++) {
+            if (surrounded[i]) continue;
+            kept[s] = i;
+            sx[s] = xs[i];
+            sy[s++] = ys[i];
+        }
+
+        int[] unique = new int[s], twin = new int[s];
+        int u = DelaunaySolver.dedupe(sx, sy, unique, twin);
+        for (int i = 0; i < s; i++) {
+            int first = kept[unique[twin[i]]];
+            if (uf.union(first, kept[i])) {
+                edges[2 * count] = first;
+                edges[2 * count++ + 1] = kept[i];
+            }
+        }
+
+        double[] ux = new double[u], uy = new double[u];
+        for (int i = 0; i < u; i++) {
+            ux[i] = sx[unique[i]];
+            uy[i] = sy[unique[i]];
+        }
+        int[] triangles = Delaunay.triangulate(ux, uy, u);
+        long[] candidates;
+        int m = 0;
+        if (triangles.length > 0) {
+            candidates = new long[triangles.length];
+            for (int t = 0; t < triangles.length; t += 3) {
+                for (int i = 0; i < 3; i++) {
+                    int a = kept[unique[triangles[t + i]]], b = kept[unique[triangles[t + (i + 1) % 3]]];
+                    if (uf.find(a) != uf.find(b)) candidates[m++] = pack(a, b);
+                }
+            }
+        } else {
+            // Collinear points: the MST joins each point to the next along the line
+            Integer[] order = new Integer[u];
+            for (int i = 0; i < u; i++) order[i] = kept[unique[i]];
+            Arrays.sort(order, Comparator.<Integer>comparingDouble(i -> xs[i]).thenComparingDouble(i -> ys[i]));
+            candidates = new long[Math.max(0, u - 1)];
+            for (int i = 1; i < u; i++) {
+                int a = order[i - 1], b = order[i];
+                if (uf.find(a) != uf.find(b)) candidates[m++] = pack(a, b);
+            }
+        }
+
+        long[] between = Arrays.copyOf(candidates, m);
+        double[] length = new double[m];
+        Integer[] order = new Integer[m];
+        for (int e = 0; e < m; e++) {
+            length[e] = length(between[e], xs, ys);
+            order[e] = e;
+        }
+        Arrays.sort(order, Comparator.comparingDouble(e -> length[e]));
+        for (int e : order) {
+            int a = first(between[e]), b = second(between[e]);
+            if (uf.union(a, b)) {
+                edges[2 * count] = a;
+                edges[2 * count++ + 1] = b;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Whether the neighbours of point {@code i} all lie in its component and, for every point
+     * outside, one of them is closer to it than {@code i}. Points outside are at least {@code r}
+     * away, the larger of {@code reach[i]} and the distance to the last neighbour, and a neighbour
+     * at distance {@code d} is closer to every such point seen within {@code acos(d / 2r)} of its
+     * own direction.
+     */
+    private static boolean surrounded(int i, double[] xs, double[] ys, ConcurrentUnionFind uf,
+                                      int k, int[] neighbour, double[] distance, double[] reach) {
+        int c = uf.find(i), from = i * k;
+        double r = Math.max(reach[i], distance[from + k - 1]);
+        double[] direction = new double[k], spread = new double[k];
+        int m = 0;
+        for (int j = from; j < from + k; j++) {
+            int v = neighbour[j];
+            if (uf.find(v) != c) return false;
+            if (distance[j] == 0) continue;
+            direction[m] = Math.atan2(ys[v] - ys[i], xs[v] - xs[i]);
+            spread[m++] = Math.acos(Math.min(1, distance[j] / (2 * r)));
+        }
+        // The arcs cover the circle when each of their ends lies strictly inside another arc
+        for (int a = 0; a < m; a++) {
+            double end = direction[a] + spread[a];
+            boolean covered = false;
+            for (int b = 0; b < m && !covered; b++) {
+                if (b == a) continue;
+                double offset = Math.abs(Math.IEEEremainder(end - direction[b], 2 * Math.PI));
+                covered = offset < spread[b];
+            }
+            if (!covered) return false;
+        }
+        return m > 0;
+    }
+
+    /** Runs {@code body} for {@code 0..n-1} on {@code pool}, polling for cancellation between chunks. */
+    private static void parallelFor(ForkJoinPool pool, int n, SolveOptions options, IntConsumer body) {
+        pool.invoke(new Range(0, n, options, body));
+    }
+
+    private static final class Range extends RecursiveAction {
+        private final int from, to;
+        private final SolveOptions options;
+        private final IntConsumer body;
+
+        Range(int from, int to, SolveOptions options, IntConsumer body) {
+            this.from = from;
+            this.to = to;
+            this.options = options;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= GRAIN) {
+                options.throwIfCancelled();
+                for (int i = from; i < to; i++) body.accept(i);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new Range(from, middle, options, body), new Range(middle, to, options, body));
+        }
+    }
+
+    /** Uniform grid over the bounding box of the points, with the points sorted by cell. */
+    private static final class Grid {
+        private final double[] xs, ys;
+        private final double minX, minY, cellSize;
+        private final int columns, rows;
+        /** Points of cell {@code c} are {@code points[start[c]..start[c + 1]-1]}. */
+        private final int[] start, points;
+
+        Grid(double[] xs, double[] ys) {
+            this.xs = xs;
+            this.ys = ys;
+            int n = xs.length;
+            double loX = Double.MAX_VALUE, loY = Double.MAX_VALUE;
+            double hiX = -Double.MAX_VALUE, hiY = -Double.MAX_VALUE;
+            for (int i = 0; i < n; i++) {
+                loX = Math.min(loX, xs[i]); hiX = Math.max(hiX, xs[i]);
+                loY = Math.min(loY, ys[i]); hiY = Math.max(hiY, ys[i]);
+            }
+            double width = hiX - loX, height = hiY - loY;
+            // About two points per cell, and no more than n / 2 cells along a side
+            double size = Math.max(Math.sqrt(2 * width * height / n), 2 * Math.max(width, height) / n);
+            this.minX = loX;
+            this.minY = loY;
+            this.cellSize = size > 0 ? size : 1;
+            this.columns = (int) (width / cellSize) + 1;
+            this.rows = (int) (height / cellSize) + 1;
+
+            int[] cell = new int[n];
+            start = new int[columns * rows + 1];
+            for (int i = 0; i < n; i++) {
+                cell[i] = row(ys[i]) * columns + column(xs[i]);
+                start[cell[i] + 1]++;
+            }
+            for (int c = 0; c < columns * rows; c++) start[c + 1] += start[c];
+            points = new int[n];
+            int[] fill = Arrays.copyOf(start, columns * rows);
+            for (int i = 0; i < n; i++) points[fill[cell[i]]++] = i;
+        }
+
+        private int column(double x) {
+            return Math.min(columns - 1, (int) ((x - minX) / cellSize));
+        }
+
+        private int row(double y) {
+            return Math.min(rows - 1, (int) ((y - minY) / cellSize));
+        }
+
+        /**
+         * Writes the {@code k} nearest neighbours of point {@code i} and their distances,
+         * nearest first, to {@code neighbour} and {@code distance} from index {@code i * k}.
+         */
+        void nearest(int i, int k, int[] neighbour, double[] distance) {
+            int from = i * k, found = 0;
+            int cx = column(xs[i]), cy = row(ys[i]);
+            int maxRing = Math.max(columns, rows);
+            for (int ring = 0; ring <= maxRing; ring++) {
+                for (int dy = -ring; dy <= ring; dy++) {
+                    int y = cy + dy;
+                    if (y < 0 || y >= rows) continue;
+                    int step = Math.abs(dy) == ring ? 1 : 2 * ring;
+                    for (int dx = -ring; dx <= ring; dx += step) {
+                        int x = cx + dx;
+                        if (x < 0 || x >= columns) continue;
+                        int c = y * columns + x;
+                        for (int p = start[c]; p < start[c + 1]; p++) {
+                            int j = points[p];
+                            if (j == i) continue;
+                            double d = Geometry.dist(xs[i], ys[i], xs[j], ys[j]);
+                            if (found == k && !before(d, j, distance[from + k - 1], neighbour[from + k - 1])) continue;
+                            int slot = found < k ? found++ : k - 1;
+                            while (slot > 0 && before(d, j, distance[from + slot - 1], neighbour[from + slot - 1])) {
+                                distance[from + slot] = distance[from + slot - 1];
+                                neighbour[from + slot] = neighbour[from + slot - 1];
+                                slot--;
+                            }
+                            distance[from + slot] = d;
+                            neighbour[from + slot] = j;
+                        }
+                    }
+                }
+                // Points beyond this ring are at least ring cells away
+                if (found == k && distance[from + k - 1] <= ring * cellSize) return;
+            }
+        }
+
+        /** Radius within which {@link #nearestOutside} finds every point. */
+        double searchRadius() {
+            return SEARCH_RINGS * cellSize;
+        }
+
+        /**
+         * Nearest point to {@code i} outside its component if one is closer than {@code limit},
+         * searching at most {@link #SEARCH_RINGS} rings of cells around it. Raises {@code reach[i]}
+         * to the distance within which no point outside was found.
+         *
+         * @return the point, or -1 if none was found
+         */
+        int nearestOutside(int i, int[] component, double limit, double[] reach) {
+            int c = component[i], cx = column(xs[i]), cy = row(ys[i]);
+            int found = -1;
+            double best = Double.POSITIVE_INFINITY;
+            int maxRing = Math.max(columns, rows);
+            for (int ring = 0; ring <= maxRing; ring++) {
+                for (int dy = -ring; dy <= ring; dy++) {
+                    int y = cy + dy;
+                    if (y < 0 || y >= rows) continue;
+                    int step = Math.abs(dy) == ring ? 1 : 2 * ring;
+                    for (int dx = -ring; dx <= ring; dx += step) {
+                        int x = cx + dx;
+                        if (x < 0 || x >= columns) continue;
+                        int cell = y * columns + x;
+                        for (int p = start[cell]; p < start[cell + 1]; p++) {
+                            int j = points[p];
+                            if (component[j] == c) continue;
+                            double d = Geometry.dist(xs[i], ys[i], xs[j], ys[j]);
+                            if (before(d, j, best, found)) {
+                                best = d;
+                                found = j;
+                            }
+                        }
+                    }
+                }
+                // Every point closer than this has been seen
+                double covered = ring == maxRing ? Double.POSITIVE_INFINITY : ring * cellSize;
+                if (found >= 0 && best <= covered) {
+                    reach[i] = Math.max(reach[i], best);
+                    return found;
+                }
+                if (covered >= limit || ring == SEARCH_RINGS || ring == maxRing) {
+                    reach[i] = Math.max(reach[i], covered);
+                    return -1;
+                }
+            }
+            return -1;
+        }
+
+        private static boolean before(double d, int j, double otherDistance, int other) {
+            return d < otherDistance || (d == otherDistance && j < other);
+        }
+    }
+
+    /** Union-find over an atomic parent array, with path halving and roots linked by index. */
+    private static final class ConcurrentUnionFind {
+        private final AtomicIntegerArray parent;
+
+        ConcurrentUnionFind(int n) {
+            parent = new AtomicIntegerArray(n);
+            for (int i = 0; i < n; i++) parent.set(i, i);
+        }
+
+        int find(int v) {
+            while (true) {
+                int p = parent.get(v);
+                if (p == v) return v;
+                int grandparent = parent.get(p);
+                if (grandparent == p) return p;
+                parent.compareAndSet(v, p, grandparent);
+                v = grandparent;
+            }
+        }
+
+        /** Links the root with the larger index below the other one, so links never form a cycle. */
+        boolean union(int a, int b) {
+            while (true) {
+                a = find(a);
+                b = find(b);
+                if (a == b) return false;
+                if (a < b) { int t = a; a = b; b = t; }
+                if (parent.compareAndSet(a, a, b)) return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.terra.numerica.steiner_tree_solver.solver;
+
+import com.terra.numerica.steiner_tree_solver.model.Point;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Running time model {@code t(n) = c · n^e} per strategy, where {@code e} is declared by the
+ * strategy and {@code c} is measured on this machine by {@link #calibrate}. A strategy that
+ * switches algorithm at {@link SteinerSolver#largeInputSize()} has one such model per regime.
+ * Strategies that were never calibrated are assumed to take 1 ns per {@code n^e} unit.
+ */
+public class CostModel {
+
+    private static final int CALIBRATION_RUNS = 3;
+    private static final double DEFAULT_NANOS_PER_UNIT = 1.0;
+
+    private final Map<String, Double> nanosPerUnit = new ConcurrentHashMap<>();
+
+    /**
+     * Runs each strategy on a random instance of its {@link SteinerSolver#calibrationSize()}, and
+     * of its {@link SteinerSolver#largeCalibrationSize()} if it has a second regime, and records
+     * the fastest of {@value #CALIBRATION_RUNS} runs.
+     */
+    public void calibrate(List<SteinerSolver> solvers) {
+        Random random = new Random(42);
+        for (SteinerSolver solver : solvers) {
+            calibrate(solver, solver.calibrationSize(), random);
+            if (solver.largeInputSize() > 0) calibrate(solver, solver.largeCalibrationSize(), random);
+        }
+    }
+
+    private void calibrate(SteinerSolver solver, int n, Random random) {
+        List<Point> points = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            points.add(new Point(random.nextDouble() * 1000, random.nextDouble() * 1000));
+        }
+
+        long best = Long.MAX_VALUE;
+        for (int run = 0; run < CALIBRATION_RUNS; run++) {
+            long start = System.nanoTime();
+            solver.solve(points, SolveOptions.defaults());
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        nanosPerUnit.put(key(solver, n), best / units(solver, n));
+    }
+
+    /** Estimated wall time of {@code solver} on {@code n} points, in milliseconds. */
+    public double estimateMillis(SteinerSolver solver, int n) {
+        double c = nanosPerUnit.getOrDefault(key(solver, n), DEFAULT_NANOS_PER_UNIT);
+        return c * units(solver, n) / 1_000_000.0;
+    }
+
+    private static boolean large(SteinerSolver solver, int n) {
+        return solver.largeInputSize() > 0 && n >= solver.largeInputSize();
+    }
+
+    private static String key(SteinerSolver solver, int n) {
+        return large(solver, n) ? solver.name() + "/large" : solver.name();
+    }
+
+    private static double units(SteinerSolver solver, int n) {
+        double exponent = large(solver, n) ? solver.largeComplexityExponent() : solver.complexityExponent();
+        return Math.max(1.0, Math.pow(n, exponent));
+    }
+}
@@ -0,0 +1,198 @@
+package com.terra.numerica.steiner_tree_solver.solver;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Incremental Bowyer-Watson Delaunay triangulation.
+ * <p>
+ * Points are inserted in a row-by-row snake order over a coarse grid, and each one is located by
+ * walking from the last created triangle, so consecutive insertions stay close and the expected
+ * cost is near-linear. The three vertices of the enclosing super-triangle are removed at the end.
+ * Input points must be distinct.
+ */
+final class Delaunay {
+
+    private static final int[] NO_TRIANGLES = new int[0];
+
+    private final double[] xs, ys;
+    private int[] vertex;     // 3 per triangle, counter-clockwise
+    private int[] neighbour;  // neighbour[3t + i] is across the edge opposite vertex[3t + i], -1 if none
+    private boolean[] dead;
+    private int count;
+    private int last;
+
+    private Delaunay(double[] xs, double[] ys, int capacity) {
+        this.xs = xs;
+        this.ys = ys;
+        this.vertex = new int[3 * capacity];
+        this.neighbour = new int[3 * capacity];
+        this.dead = new boolean[capacity];
+    }
+
+    /**
+     * Triangulates the first {@code n} points.
+     *
+     * @return the vertex indices of each triangle, three per triangle in counter-clockwise order;
+     *         empty if fewer than 3 points or all points are collinear
+     */
+    static int[] triangulate(double[] px, double[] py, int n) {
+        if (n < 3) return NO_TRIANGLES;
+
+        double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE;
+        double maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+        for (int i = 0; i < n; i++) {
+            minX = Math.min(minX, px[i]); maxX = Math.max(maxX, px[i]);
+            minY = Math.min(minY, py[i]); maxY = Math.max(maxY, py[i]);
+        }
+        double span = Math.max(Math.max(maxX - minX, maxY - minY), 1e-9);
+        double cx = (minX + maxX) / 2, cy = (minY + maxY) / 2, m = 1000 * span;
+
+        double[] xs = Arrays.copyOf(px, n + 3), ys = Arrays.copyOf(py, n + 3);
+        xs[n] = cx - 2 * m;  ys[n] = cy - m;
+        xs[n + 1] = cx + 2 * m;  ys[n + 1] = cy - m;
+        xs[n + 2] = cx;  ys[n + 2] = cy + 2 * m;
+
+        Delaunay d = new Delaunay(xs, ys, 2 * n + 16);
+        d.add(n, n + 1, n + 2, -1, -1, -1);
+        for (int p : insertionOrder(px, py, n, minX, minY, span)) {
+            d.insert(p);
+        }
+        return d.finiteTriangles(n);
+    }
+
+    /** Snake order over a √n × √n grid: rows bottom to top, alternating direction. */
+    private static int[] insertionOrder(double[] xs, double[] ys, int n,
+                                        double minX, double minY, double span) {
+        int cells = Math.max(1, (int) Math.sqrt(n));
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++) {
+            int row = Math.min(cells - 1, (int) ((ys[i] - minY) / span * cells));
+            int col = Math.min(cells - 1, (int) ((xs[i] - minX) / span * cells));
+            if ((row & 1) == 1) col = cells - 1 - col;
+            keys[i] = ((long) (row * cells + col) << 32) | i;
+        }
+        Arrays.sort(keys);
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) order[i] = (int) keys[i];
+        return order;
+    }
+
+    private int add(int a, int b, int c, int na, int nb, int nc) {
+        if (count == dead.length) {
+            int capacity = 2 * count;
+            vertex = Arrays.copyOf(vertex, 3 * capacity);
+            neighbour = Arrays.copyOf(neighbour, 3 * capacity);
+            dead = Arrays.copyOf(dead, capacity);
+        }
+        int t = count++;
+        vertex[3 * t] = a; vertex[3 * t + 1] = b; vertex[3 * t + 2] = c;
+        neighbour[3 * t] = na; neighbour[3 * t + 1] = nb; neighbour[3 * t + 2] = nc;
+        return t;
+    }
+
+    private void insert(int p) {
+        int start = locate(p);
+
+        // Cavity: triangles whose circumcircle contains p, grown from the containing triangle
+        Map<Integer, Boolean> inCavity = new HashMap<>();
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        inCavity.put(start, true);
+        queue.add(start);
+        while (!queue.isEmpty()) {
+            int t = queue.poll();
+            for (int i = 0; i < 3; i++) {
+                int nb = neighbour[3 * t + i];
+                if (nb < 0 || inCavity.containsKey(nb)) continue;
+                boolean inside = inCircle(nb, p);
+                inCavity.put(nb, inside);
+                if (inside) queue.add(nb);
+            }
+        }
+
+        // Fan the cavity boundary around p; new triangle (a, b, p) for each boundary edge a -> b
+        Map<Integer, Integer> startingAt = new HashMap<>(), endingAt = new HashMap<>();
+        for (Map.Entry<Integer, Boolean> entry : inCavity.entrySet()) {
+            if (!entry.getValue()) continue;
+            int t = entry.getKey();
+            dead[t] = true;
+            for (int i = 0; i < 3; i++) {
+                int nb = neighbour[3 * t + i];
+                if (nb >= 0 && inCavity.getOrDefault(nb, false)) continue;
+                int a = vertex[3 * t + (i + 1) % 3], b = vertex[3 * t + (i + 2) % 3];
+                int created = add(a, b, p, -1, -1, nb);
+                if (nb >= 0) {
+                    for (int j = 0; j < 3; j++) {
+                        if (neighbour[3 * nb + j] == t) neighbour[3 * nb + j] = created;
+                    }
+                }
+                startingAt.put(a, created);
+                endingAt.put(b, created);
+            }
+        }
+        for (int t : startingAt.values()) {
+            int a = vertex[3 * t], b = vertex[3 * t + 1];
+            neighbour[3 * t] = startingAt.get(b);     // across (b, p)
+            neighbour[3 * t + 1] = endingAt.get(a);   // across (p, a)
+            last = t;
+        }
+    }
+
+    /** Walks from the last created triangle towards {@code p}. */
+    private int locate(int p) {
+        int t = last;
+        while (dead[t]) t--;
+        for (int steps = 0; steps < 4 * count; steps++) {
+            boolean moved = false;
+            for (int i = 0; i < 3; i++) {
+                int a = vertex[3 * t + (i + 1) % 3], b = vertex[3 * t + (i + 2) % 3];
+                if (orient(a, b, p) < 0 && neighbour[3 * t + i] >= 0) {
+                    t = neighbour[3 * t + i];
+                    moved = true;
+                    break;
+                }
+            }
+            if (!moved) return t;
+        }
+        for (int s = 0; s < count; s++) {
+            if (!dead[s] && contains(s, p)) return s;
+        }
+        return t;
+    }
+
+    private boolean contains(int t, int p) {
+        for (int i = 0; i < 3; i++) {
+            if (orient(vertex[3 * t + (i + 1) % 3], vertex[3 * t + (i + 2) % 3], p) < 0) return false;
+        }
+        return true;
+    }
+
+    private double orient(int a, int b, int c) {
+        return (xs[b] - xs[a]) * (ys[c] - ys[a]) - (ys[b] - ys[a]) * (xs[c] - xs[a]);
+    }
+
+    private boolean inCircle(int t, int p) {
+        int a = vertex[3 * t], b = vertex[3 * t + 1], c = vertex[3 * t + 2];
+        double adx = xs[a] - xs[p], ady = ys[a] - ys[p];
+        double bdx = xs[b] - xs[p], bdy = ys[b] - ys[p];
+        double cdx = xs[c] - xs[p], cdy = ys[c] - ys[p];
+        double det = (adx * adx + ady * ady) * (bdx * cdy - cdx * bdy)
+                   - (bdx * bdx + bdy * bdy) * (adx * cdy - cdx * ady)
+                   + (cdx * cdx + cdy * cdy) * (adx * bdy - bdx * ady);
+        return det > 0;
+    }
+
+    private int[] finiteTriangles(int n) {
+        int[] out = new int[3 * count];
+        int size = 0;
+        for (int t = 0; t < count; t++) {
+            if (dead[t]) continue;
+            int a = vertex[3 * t], b = vertex[3 * t + 1], c = vertex[3 * t + 2];
+            if (a >= n || b >= n || c >= n || orient(a, b, c) == 0) continue;
+            out[size++] = a; out[size++] = b; out[size++] = c;
+        }
+        return Arrays.copyOf(out, size);
+    }
+}
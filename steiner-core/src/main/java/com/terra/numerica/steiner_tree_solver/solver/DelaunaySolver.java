@@ -0,0 +1,502 @@
+package com.terra.numerica.steiner_tree_solver.solver;
+
+import com.terra.numerica.steiner_tree_solver.model.Point;
+import com.terra.numerica.steiner_tree_solver.model.SteinerResult;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Steiner point insertion over Delaunay triangles, after Beasley and Goffinet.
+ * <p>
+ * The MST is computed from the Delaunay edges. Every Delaunay triangle and every pair of triangles
+ * sharing an edge gives a 3- or 4-terminal subset whose exact Steiner tree is computed by the
+ * {@link ExactSolver}, in parallel. A subset's gain is the weight of the MST edges that become
+ * redundant once its terminals are joined by that tree, minus the tree's length. Subsets are then
+ * accepted greedily by decreasing gain, as long as their terminals still lie in distinct
+ * components of the accepted trees and none of their redundant MST edges was already removed.
+ * The final tree is the MST of the remaining MST edges and the accepted Steiner trees, with
+ * Steiner points of degree below 3 pruned, so it is never longer than the MST.
+ */
+public class DelaunaySolver implements SteinerSolver {
+
+    public static final String NAME = "delaunay";
+
+    /** Candidates whose terminals are further apart than this many MST edges are skipped. */
+    private static final int MAX_PATH_EDGES = 256;
+
+    private final ExactSolver exact = new ExactSolver();
+    private final MstSolver mst = new MstSolver();
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public int qualityRank() {
+        return 2;
+    }
+
+    @Override
+    public boolean supports(int n) {
+        return n >= 3;
+    }
+
+    @Override
+    public double complexityExponent() {
+        return 1.1;
+    }
+
+    @Override
+    public int calibrationSize() {
+        return 500;
+    }
+
+    @Override
+    public SteinerResult solve(List<Point> points, SolveOptions options) {
+        return solveIndexed(points, options).toResult(points);
+    }
+
+    /** An exact Steiner tree over a subset of terminals and the MST edges it makes redundant. */
+    private static final class Candidate {
+        final int[] terminals;
+        final IndexedTree tree;
+        final int[] redundant;
+        final double gain;
+
+        Candidate(int[] terminals, IndexedTree tree, int[] redundant, double gain) {
+            this.terminals = terminals;
+            this.tree = tree;
+            this.redundant = redundant;
+            this.gain = gain;
+        }
+    }
+
+    @Override
+    public IndexedTree solveIndexed(List<Point> points, SolveOptions options) {
+        int n = points.size();
+        double[] xs = new double[n], ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = points.get(i).getX();
+            ys[i] = points.get(i).getY();
+        }
+
+        // Duplicates are triangulated once and hung off their first occurrence by a zero-length edge
+        int[] unique = new int[n], twin = new int[n];
+        int u = dedupe(xs, ys, unique, twin);
+        double[] ux = new double[u], uy = new double[u];
+        for (int i = 0; i < u; i++) {
+            ux[i] = xs[unique[i]];
+            uy[i] = ys[unique[i]];
+        }
+
+        int[] triangles = Delaunay.triangulate(ux, uy, u);
+        options.throwIfCancelled();
+        if (triangles.length == 0) {
+            return mst.solveIndexed(points, options);
+        }
+
+        int[] parent = new int[u];
+        double[] parentLength = new double[u];
+        int[] depth = new int[u];
+        if (!spanningTree(ux, uy, triangles, parent, parentLength, depth)) {
+            return mst.solveIndexed(points, options);
+        }
+
+        // Subsets are solved to optimality: a target gap applies to the whole tree, not to each subset
+        SolveOptions exactOptions = options.withTargetGap(0);
+        List<int[]> subsets = subsets(triangles);
+        List<Candidate> candidates = subsets.parallelStream()
+            .map(s -> evaluate(s, ux, uy, parent, parentLength, depth, exactOptions))
+            .filter(Objects::nonNull)
+            .sorted(Comparator.comparingDouble((Candidate c) -> -c.gain))
+            .toList();
+        options.throwIfCancelled();
+
+        List<Candidate> accepted = accept(candidates, u);
+        IndexedTree tree = assemble(ux, uy, parent, accepted);
+        return expand(tree, n, xs, ys, unique, twin, u);
+    }
+
+    // ---- MST over the Delaunay edges ---------------------------------------------------------
+
+    /**
+     * Kruskal over the Delaunay edges, rooted at node 0.
+     *
+     * @return {@code false} if the Delaunay edges do not connect every point
+     */
+    static boolean spanningTree(double[] xs, double[] ys, int[] triangles,
+                                int[] parent, double[] parentLength, int[] depth) {
+        int u = xs.length;
+        // Each edge as min << 32 | max, so that the two triangles sharing it give the same key
+        long[] edges = new long[triangles.length];
+        for (int t = 0; t < triangles.length; t += 3) {
+            for (int i = 0; i < 3; i++) {
+                int a = triangles[t + i], b = triangles[t + (i + 1) % 3];
+                edges[t + i] = ((long) Math.min(a, b) << 32) | Math.max(a, b);
+            }
+        }
+        edges = Arrays.stream(edges).sorted().distinct().toArray();
+
+        Integer[] order = new Integer[edges.length];
+        double[] length = new double[edges.length];
+        for (int e = 0; e < edges.length; e++) {
+            order[e] = e;
+            int a = (int) (edges[e] >>> 32), b = (int) edges[e];
+            length[e] = Geometry.dist(xs[a], ys[a], xs[b], ys[b]);
+        }
+        Arrays.sort(order, Comparator.comparingDouble(e -> length[e]));
+
+        UnionFind uf = new UnionFind(u);
+        List<List<Integer>> adj = new ArrayList<>(u);
+        for (int i = 0; i < u; i++) adj.add(new ArrayList<>(4));
+        int joined = 0;
+        for (int e : order) {
+            int a = (int) (edges[e] >>> 32), b = (int) edges[e];
+            if (uf.union(a, b)) {
+                adj.get(a).add(b);
+                adj.get(b).add(a);
+                joined++;
+            }
+        }
+        if (joined != u - 1) return false;
+
+        Arrays.fill(parent, -1);
+        int[] queue = new int[u];
+        boolean[] seen = new boolean[u];
+        int head = 0, tail = 0;
+        queue[tail++] = 0;
+        seen[0] = true;
+        while (head < tail) {
+            int v = queue[head++];
+            for (int w : adj.get(v)) {
+                if (seen[w]) continue;
+                seen[w] = true;
+                parent[w] = v;
+                parentLength[w] = Geometry.dist(xs[v], ys[v], xs[w], ys[w]);
+                depth[w] = depth[v] + 1;
+                queue[tail++] = w;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * MST of any points, duplicates included, as node index pairs: Kruskal over the Delaunay
+     * edges, or Prim when the distinct points are collinear. Duplicates hang off their first
+     * occurrence by a zero-length edge.
+     */
+    static int[] mstEdges(double[] xs, double[] ys) {
+        int n = xs.length;
+        int[] unique = new int[n], twin = new int[n];
+        int u = dedupe(xs, ys, unique, twin);
+        double[] ux = new double[u], uy = new double[u];
+        for (int i = 0; i < u; i++) {
+            ux[i] = xs[unique[i]];
+            uy[i] = ys[unique[i]];
+        }
+        int[] parent = new int[u], depth = new int[u];
+        double[] parentLength = new double[u];
+        int[] triangles = Delaunay.triangulate(ux, uy, u);
+        if (triangles.length == 0 || !spanningTree(ux, uy, triangles, parent, parentLength, depth)) {
+            parent = Geometry.mstParents(ux, uy, u);
+        }
+
+        int[] edges = new int[2 * Math.max(0, n - 1)];
+        int e = 0;
+        for (int v = 0; v < u; v++) {
+            if (parent[v] < 0) continue;
+            edges[e++] = unique[parent[v]];
+            edges[e++] = unique[v];
+        }
+        for (int i = 0; i < n; i++) {
+            if (unique[twin[i]] != i) {
+                edges[e++] = unique[twin[i]];
+                edges[e++] = i;
+            }
+        }
+        return edges;
+    }
+
+    // ---- candidates --------------------------------------------------------------------------
+
+    /** Every Delaunay triangle, and the four vertices of every pair of triangles sharing an edge. */
+    private static List<int[]> subsets(int[] triangles) {
+        List<int[]> subsets = new ArrayList<>(triangles.length);
+        Map<Long, Integer> opposite = new HashMap<>(triangles.length * 2);
+        for (int t = 0; t < triangles.length; t += 3) {
+            subsets.add(new int[]{ triangles[t], triangles[t + 1], triangles[t + 2] });
+            for (int i = 0; i < 3; i++) {
+                int a = triangles[t + i], b = triangles[t + (i + 1) % 3], c = triangles[t + (i + 2) % 3];
+                long key = ((long) Math.min(a, b) << 32) | Math.max(a, b);
+                Integer d = opposite.put(key, c);
+                if (d != null) subsets.add(new int[]{ a, c, b, d });
+            }
+        }
+        return subsets;
+    }
+
+    private Candidate evaluate(int[] terminals, double[] xs, double[] ys, int[] parent,
+                               double[] parentLength, int[] depth, SolveOptions options) {
+        options.throwIfCancelled();
+        int[] path = pathUnion(terminals, parent, depth);
+        if (path == null) return null;
+
+        List<Point> local = new ArrayList<>(terminals.length);
+        for (int t : terminals) local.add(new Point(xs[t], ys[t]));
+        IndexedTree tree = IndexedTree.fromResult(local, exact.solve(local, options));
+        if (tree.steinerCount() == 0) return null;
+
+        // Joining the terminals makes redundant the edges Kruskal rejects once they are merged
+        Map<Integer, Integer> index = new HashMap<>();
+        for (int child : path) {
+            index.putIfAbsent(child, index.size());
+            index.putIfAbsent(parent[child], index.size());
+        }
+        UnionFind uf = new UnionFind(index.size());
+        for (int t : terminals) uf.union(index.get(terminals[0]), index.get(t));
+
+        Integer[] sorted = new Integer[path.length];
+        for (int i = 0; i < path.length; i++) sorted[i] = path[i];
+        Arrays.sort(sorted, Comparator.comparingDouble(c -> parentLength[c]));
+
+        int[] redundant = new int[terminals.length - 1];
+        int removed = 0;
+        double removedLength = 0;
+        for (int child : sorted) {
+            if (!uf.union(index.get(child), index.get(parent[child]))) {
+                redundant[removed++] = child;
+                removedLength += parentLength[child];
+            }
+        }
+
+        double gain = removedLength - tree.totalLength();
+        if (removed != redundant.length || gain <= 1e-9 * removedLength) return null;
+        return new Candidate(terminals, tree, redundant, gain);
+    }
+
+    /**
+     * MST edges on the paths joining the terminals, identified by their child node, or
+     * {@code null} if there are more than {@link #MAX_PATH_EDGES}.
+     */
+    private static int[] pathUnion(int[] terminals, int[] parent, int[] depth) {
+        List<Integer> edges = new ArrayList<>();
+        Set<Integer> seen = new HashSet<>();
+        for (int i = 1; i < terminals.length; i++) {
+            int a = terminals[0], b = terminals[i];
+            while (a != b) {
+                int child;
+                if (depth[a] >= depth[b]) { child = a; a = parent[a]; }
+                else { child = b; b = parent[b]; }
+                if (seen.add(child)) edges.add(child);
+                if (edges.size() > MAX_PATH_EDGES) return null;
+            }
+        }
+        return edges.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    // ---- greedy acceptance and final tree ----------------------------------------------------
+
+    /**
+     * Accepts candidates by decreasing gain while their terminals lie in distinct components and
+     * their redundant edges are still in the tree, then removes those edges.
+     */
+    private static List<Candidate> accept(List<Candidate> candidates, int u) {
+        UnionFind components = new UnionFind(u);
+        boolean[] removed = new boolean[u];
+        List<Candidate> accepted = new ArrayList<>();
+
+        next:
+        for (Candidate c : candidates) {
+            for (int child : c.redundant) if (removed[child]) continue next;
+            for (int i = 0; i < c.terminals.length; i++)
+                for (int j = i + 1; j < c.terminals.length; j++)
+                    if (components.find(c.terminals[i]) == components.find(c.terminals[j])) continue next;
+
+            for (int child : c.redundant) removed[child] = true;
+            for (int t : c.terminals) components.union(c.terminals[0], t);
+            accepted.add(c);
+        }
+        return accepted;
+    }
+
+    /**
+     * Kruskal over the MST edges and the accepted Steiner trees, then repeatedly drops Steiner
+     * points of degree 1 and short-cuts those of degree 2.
+     */
+    private static IndexedTree assemble(double[] xs, double[] ys, int[] parent, List<Candidate> accepted) {
+        int u = xs.length;
+        List<double[]> nodes = new ArrayList<>();
+        List<int[]> edges = new ArrayList<>();
+        for (int i = 0; i < u; i++) nodes.add(new double[]{ xs[i], ys[i] });
+        for (int i = 1; i < u; i++) edges.add(new int[]{ parent[i], i });
+
+        for (Candidate c : accepted) {
+            IndexedTree tree = c.tree;
+            int first = nodes.size() - tree.terminalCount();
+            for (int s = tree.terminalCount(); s < tree.nodeCount(); s++) {
+                nodes.add(new double[]{ tree.x(s), tree.y(s) });
+            }
+            for (int e = 0; e < tree.edgeCount(); e++) {
+                int a = tree.edgeStart(e), b = tree.edgeEnd(e);
+                edges.add(new int[]{ a < tree.terminalCount() ? c.terminals[a] : first + a,
+                                     b < tree.terminalCount() ? c.terminals[b] : first + b });
+            }
+        }
+
+        edges = kruskal(nodes, edges);
+        List<Set<Integer>> adjacent = new ArrayList<>(nodes.size());
+        for (int i = 0; i < nodes.size(); i++) adjacent.add(new HashSet<>(4));
+        for (int[] e : edges) {
+            adjacent.get(e[0]).add(e[1]);
+            adjacent.get(e[1]).add(e[0]);
+        }
+        ArrayDeque<Integer> work = new ArrayDeque<>();
+        for (int s = u; s < nodes.size(); s++) work.add(s);
+        while (!work.isEmpty()) {
+            int s = work.poll();
+            Set<Integer> around = adjacent.get(s);
+            if (around.size() == 1) {
+                int v = around.iterator().next();
+                adjacent.get(v).remove(s);
+                around.clear();
+                if (v >= u) work.add(v);
+            } else if (around.size() == 2) {
+                Iterator<Integer> it = around.iterator();
+                int a = it.next(), b = it.next();
+                adjacent.get(a).remove(s);
+                adjacent.get(b).remove(s);
+                adjacent.get(a).add(b);
+                adjacent.get(b).add(a);
+                around.clear();
+            }
+        }
+
+        List<int[]> kept = new ArrayList<>(edges.size());
+        for (int a = 0; a < nodes.size(); a++) {
+            for (int b : adjacent.get(a)) if (a < b) kept.add(new int[]{ a, b });
+        }
+        return compact(nodes, kept, u);
+    }
+
+    private static List<int[]> kruskal(List<double[]> nodes, List<int[]> edges) {
+        List<int[]> sorted = new ArrayList<>(edges);
+        sorted.sort(Comparator.comparingDouble(e -> Geometry.distXY(nodes.get(e[0]), nodes.get(e[1]))));
+        UnionFind uf = new UnionFind(nodes.size());
+        List<int[]> tree = new ArrayList<>(nodes.size());
+        for (int[] e : sorted) if (uf.union(e[0], e[1])) tree.add(e);
+        return tree;
+    }
+
+    /** Drops isolated Steiner points and renumbers the remaining ones after the terminals. */
+    private static IndexedTree compact(List<double[]> nodes, List<int[]> edges, int u) {
+        int[] id = new int[nodes.size()];
+        Arrays.fill(id, -1);
+        for (int i = 0; i < u; i++) id[i] = i;
+        int next = u;
+        for (int[] e : edges) {
+            for (int v : e) if (id[v] < 0) id[v] = next++;
+        }
+        double[] xs = new double[next], ys = new double[next];
+        for (int i = 0; i < nodes.size(); i++) {
+            if (id[i] < 0) continue;
+            xs[id[i]] = nodes.get(i)[0];
+            ys[id[i]] = nodes.get(i)[1];
+        }
+        int[] flat = new int[2 * edges.size()];
+        for (int i = 0; i < edges.size(); i++) {
+            flat[2 * i] = id[edges.get(i)[0]];
+            flat[2 * i + 1] = id[edges.get(i)[1]];
+        }
+        return new IndexedTree(xs, ys, u, flat);
+    }
+
+    // ---- duplicates --------------------------------------------------------------------------
+
+    /**
+     * Fills {@code unique} with the index of the first occurrence of each distinct point and
+     * {@code twin} with, for every point, the position in {@code unique} of its first occurrence.
+     *
+     * @return the number of distinct points
+     */
+    static int dedupe(double[] xs, double[] ys, int[] unique, int[] twin) {
+        Map<String, Integer> seen = new HashMap<>(xs.length * 2);
+        int u = 0;
+        for (int i = 0; i < xs.length; i++) {
+            String key = Double.doubleToLongBits(xs[i] + 0.0) + ":" + Double.doubleToLongBits(ys[i] + 0.0);
+            Integer first = seen.putIfAbsent(key, u);
+            if (first == null) {
+                unique[u] = i;
+                twin[i] = u++;
+            } else {
+                twin[i] = first;
+            }
+        }
+        return u;
+    }
+
+    /** Maps a tree over the distinct points back to the input terminals. */
+    private static IndexedTree expand(IndexedTree tree, int n, double[] xs, double[] ys,
+                                      int[] unique, int[] twin, int u) {
+        int k = tree.steinerCount();
+        double[] nx = Arrays.copyOf(xs, n + k), ny = Arrays.copyOf(ys, n + k);
+        for (int s = 0; s < k; s++) {
+            nx[n + s] = tree.x(u + s);
+            ny[n + s] = tree.y(u + s);
+        }
+        int duplicates = n - u;
+        int[] edges = new int[2 * (tree.edgeCount() + duplicates)];
+        int e = 0;
+        for (int i = 0; i < tree.edgeCount(); i++) {
+            for (int v : new int[]{ tree.edgeStart(i), tree.edgeEnd(i) }) {
+                edges[e++] = v < u ? unique[v] : n + (v - u);
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            if (unique[twin[i]] != i) {
+                edges[e++] = unique[twin[i]];
+                edges[e++] = i;
+            }
+        }
+        return new IndexedTree(nx, ny, n, edges);
+    }
+
+    /** Union-find with path halving and union by size. */
+    private static final class UnionFind {
+        private final int[] parent, size;
+
+        UnionFind(int n) {
+            parent = new int[n];
+            size = new int[n];
+            for (int i = 0; i < n; i++) { parent[i] = i; size[i] = 1; }
+        }
+
+        int find(int v) {
+            while (parent[v] != v) {
+                parent[v] = parent[parent[v]];
+                v = parent[v];
+            }
+            return v;
+        }
+
+        boolean union(int a, int b) {
+            a = find(a);
+            b = find(b);
+            if (a == b) return false;
+            if (size[a] < size[b]) { int t = a; a = b; b = t; }
+            parent[b] = a;
+            size[a] += size[b];
+            return true;
+        }
+    }
+}
@@ -0,0 +1,547 @@
+package com.terra.numerica.steiner_tree_solver.solver;
+
+import com.terra.numerica.steiner_tree_solver.model.Edge;
+import com.terra.numerica.steiner_tree_solver.model.Point;
+import com.terra.numerica.steiner_tree_solver.model.SteinerResult;
+
+import java.util.List;
+
+import static com.terra.numerica.steiner_tree_solver.solver.Geometry.calculateAngle;
+import static com.terra.numerica.steiner_tree_solver.solver.Geometry.checkAngles120;
+import static com.terra.numerica.steiner_tree_solver.solver.Geometry.dist;
+import static com.terra.numerica.steiner_tree_solver.solver.Geometry.maxPairDistance;
+
+/**
+ * Exact Euclidean Steiner tree for 2 to 5 terminals, by exhaustive enumeration
+ * of every full and degenerate topology. With a {@linkplain SolveOptions#withTargetGap target gap},
+ * the enumeration stops after any family of topologies whose best tree already meets it.
+ * <p>
+ * Fermat points of terminal triples and optimised two-Steiner cores recur across the topologies
+ * of an enumeration; each is computed once per request, through a {@link SubproblemMemo}. The
+ * number of {@link TopologyOptimizer} iterations a request took is logged at debug level.
+ */
+public class ExactSolver implements SteinerSolver {
+
+    public static final String NAME = "exact";
+
+    /** S1 (node 4) joins Ta, Tb and S2; S2 (node 5) joins Tc and Td. */
+    private static final int[] TWO_STEINER_EDGES = { 4, 0, 4, 1, 4, 5, 5, 2, 5, 3 };
+
+    /** Chain S0 (node 5) joins Ta, Tb and S1; S1 (node 6) joins Tc and S2; S2 (node 7) joins Td and Te. */
+    private static final int[] THREE_STEINER_EDGES = { 5, 0, 5, 1, 5, 6, 6, 2, 6, 7, 7, 3, 7, 4 };
+
+    private static final System.Logger LOG = System.getLogger(ExactSolver.class.getName());
+
+    private final MstSolver mst = new MstSolver();
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public int qualityRank() {
+        return 4;
+    }
+
+    @Override
+    public boolean supports(int n) {
+        return n >= 2 && n <= 5;
+    }
+
+    @Override
+    public double complexityExponent() {
+        return 0.0;
+    }
+
+    @Override
+    public int calibrationSize() {
+        return 5;
+    }
+
+    @Override
+    public SteinerResult solve(List<Point> points, SolveOptions options) {
+        SubproblemMemo memo = new SubproblemMemo();
+        SteinerResult result;
+        switch (points.size()) {
+            case 2:  result = solveForTwoPoints(points); break;
+            case 3:  result = solveForThreePoints(points, memo); break;
+            case 4:  result = solveForFourPoints(points, LowerBounds.targetLength(points, options, false), memo); break;
+            case 5:  result = solveForFivePoints(points, LowerBounds.targetLength(points, options, false), memo); break;
+            default: throw new IllegalArgumentException("Exact solver supports 2 to 5 points");
+        }
+        LOG.log(System.Logger.Level.DEBUG, () -> points.size() + " terminals: "
+            + memo.optimizerIterations() + " optimiser iterations");
+        return result;
+    }
+
+    /**
+     * Returns a direct edge between the two terminal points.
+     */
+    private SteinerResult solveForTwoPoints(List<Point> points) {
+        SteinerResult result = new SteinerResult();
+        result.setTerminalPoints(points);
+        result.addEdge(new Edge(points.get(0), points.get(1)));
+        return result;
+    }
+
+    /**
+     * Computes the Steiner tree for 3 points using the Fermat-Torricelli point.
+     * If any angle is at least 120°, that vertex is used directly as the hub.
+     */
+    private SteinerResult solveForThreePoints(List<Point> points, SubproblemMemo memo) {
+        SteinerResult result = new SteinerResult();
+        result.setTerminalPoints(points);
+
+        Point p1 = points.get(0);
+        Point p2 = points.get(1);
+        Point p3 = points.get(2);
+
+        double threshold = Math.toRadians(120.0);
+
+        if (calculateAngle(p2, p1, p3) >= threshold) {
+            result.addEdge(new Edge(p1, p2));
+            result.addEdge(new Edge(p1, p3));
+        } else if (calculateAngle(p1, p2, p3) >= threshold) {
+            result.addEdge(new Edge(p2, p1));
+            result.addEdge(new Edge(p2, p3));
+        } else if (calculateAngle(p1, p3, p2) >= threshold) {
+            result.addEdge(new Edge(p3, p1));
+            result.addEdge(new Edge(p3, p2));
+        } else {
+            Point fermat = memo.fermatPoint(p1, p2, p3);
+            result.addSteinerPoint(fermat);
+            result.addEdge(new Edge(fermat, p1));
+            result.addEdge(new Edge(fermat, p2));
+            result.addEdge(new Edge(fermat, p3));
+        }
+
+        return result;
+    }
+
+    /**
+     * Computes the Steiner tree for 4 points by exhaustive enumeration of all
+     * valid topologies (0, 1, or 2 Steiner points) and returns the shortest one,
+     * stopping early once the best tree is at most {@code target} long.
+     */
+    private SteinerResult solveForFourPoints(List<Point> points, double target, SubproblemMemo memo) {
+        Point[] p = {
+            points.get(0), points.get(1),
+            points.get(2), points.get(3)
+        };
+
+        SteinerResult best = mst.spanningTree(points);
+        best.setTerminalPoints(points);
+        double bestLength = best.getTotalLength();
+        if (bestLength <= target) return best;
+
+        int[][] triplets = { {0,1,2}, {0,1,3}, {0,2,3}, {1,2,3} };
+        int[]   lones    = {  3,       2,       1,       0       };
+
+        for (int t = 0; t < 4; t++) {
+            int[] tri = triplets[t];
+            int   lone = lones[t];
+
+            Point ta = p[tri[0]], tb = p[tri[1]], tc = p[tri[2]];
+            Point fermat = memo.fermatPoint(ta, tb, tc);
+            if (fermat == null) continue;
+
+            boolean atVertex = fermat.distanceTo(ta) < 1e-8
+                            || fermat.distanceTo(tb) < 1e-8
+                            || fermat.distanceTo(tc) < 1e-8;
+
+            for (int attach : tri) {
+                SteinerResult candidate = new SteinerResult();
+                candidate.setTerminalPoints(points);
+
+                if (!atVertex) {
+                    candidate.addSteinerPoint(fermat);
+                }
+                candidate.addEdge(new Edge(fermat, ta));
+                candidate.addEdge(new Edge(fermat, tb));
+                candidate.addEdge(new Edge(fermat, tc));
+                candidate.addEdge(new Edge(p[lone], p[attach]));
+
+                if (candidate.getTotalLength() < bestLength) {
+                    best = candidate;
+                    bestLength = candidate.getTotalLength();
+                }
+            }
+        }
+        if (bestLength <= target) return best;
+
+        int[][][] partitions = {
+            {{0, 1}, {2, 3}},
+            {{0, 2}, {1, 3}},
+            {{0, 3}, {1, 2}}
+        };
+
+        for (int[][] partition : partitions) {
+            int a = partition[0][0], b = partition[0][1];
+            int c = partition[1][0], d = partition[1][1];
+
+            SteinerResult candidate = evalTwoSteinerTopology(p, a, b, c, d, memo);
+            if (candidate == null) continue;
+
+            candidate.setTerminalPoints(points);
+            if (candidate.getTotalLength() < bestLength) {
+                best = candidate;
+                bestLength = candidate.getTotalLength();
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * Evaluates a topology with two Steiner points S1 and S2 where
+     * S1 connects to {Ta, Tb, S2} and S2 connects to {Tc, Td, S1}.
+     * Optimizes the Steiner points from multiple starting points.
+     *
+     * @return the best result found, or {@code null} if the topology is invalid
+     */
+    private SteinerResult evalTwoSteinerTopology(Point[] p, int a, int b, int c, int d,
+                                                 SubproblemMemo memo) {
+        Point ta = p[a], tb = p[b], tc = p[c], td = p[d];
+
+        double[] bestCoords = memo.twoSteinerCore(ta, tb, tc, td);
+        if (bestCoords == null) return null;
+
+        double s1x = bestCoords[0], s1y = bestCoords[1];
+        double s2x = bestCoords[2], s2y = bestCoords[3];
+
+        double scale = maxPairDistance(ta, tb, tc, td);
+        double eps   = Math.max(1e-8, 1e-4 * scale);
+
+        if (dist(s1x, s1y, s2x, s2y) < eps) return null;
+        for (Point t : new Point[]{ ta, tb, tc, td }) {
+            if (dist(s1x, s1y, t.getX(), t.getY()) < eps) return null;
+            if (dist(s2x, s2y, t.getX(), t.getY()) < eps) return null;
+        }
+
+        Point s1 = new Point(s1x, s1y);
+        Point s2 = new Point(s2x, s2y);
+        if (!checkAngles120(s1, ta, tb, s2)) return null;
+        if (!checkAngles120(s2, tc, td, s1)) return null;
+
+        SteinerResult result = new SteinerResult();
+        result.addSteinerPoint(s1);
+        result.addSteinerPoint(s2);
+        result.addEdge(new Edge(s1, ta));
+        result.addEdge(new Edge(s1, tb));
+        result.addEdge(new Edge(s1, s2));
+        result.addEdge(new Edge(s2, tc));
+        result.addEdge(new Edge(s2, td));
+        return result;
+    }
+
+    /**
+     * Optimizes the two-Steiner topology of {@link #TWO_STEINER_EDGES} from each of
+     * {@link #twoSteinerInits}; the sub-problem behind {@link SubproblemMemo#twoSteinerCore}.
+     *
+     * @return the coordinates {@code {x1, y1, x2, y2}} of the shortest tree, or {@code null} if
+     *         every start collapsed
+     */
+    static double[] optimizeTwoSteiner(Point ta, Point tb, Point tc, Point td, SubproblemMemo memo) {
+        double   bestLen    = Double.MAX_VALUE;
+        double[] bestCoords = null;
+
+        for (double[] init : twoSteinerInits(ta, tb, tc, td)) {
+            double[] coords = optimizeTopology(new Point[]{ ta, tb, tc, td }, TWO_STEINER_EDGES, init, memo);
+            if (coords == null) continue;
+
+            double len = twoSteinerLength(coords, ta, tb, tc, td);
+            if (len < bestLen) {
+                bestLen    = len;
+                bestCoords = coords;
+            }
+        }
+        return bestCoords;
+    }
+
+    private static double twoSteinerLength(double[] coords, Point ta, Point tb, Point tc, Point td) {
+        double s1x = coords[0], s1y = coords[1];
+        double s2x = coords[2], s2y = coords[3];
+        return dist(s1x, s1y, ta.getX(), ta.getY())
+             + dist(s1x, s1y, tb.getX(), tb.getY())
+             + dist(s1x, s1y, s2x, s2y)
+             + dist(s2x, s2y, tc.getX(), tc.getY())
+             + dist(s2x, s2y, td.getX(), td.getY());
+    }
+
+    /**
+     * Optimizes the Steiner points of a full topology from the given starting positions.
+     * Nodes are numbered terminals first, then Steiner points, as in {@code edges}; the
+     * iterations are counted in {@code memo}.
+     *
+     * @return the Steiner coordinates {@code {x0, y0, x1, y1, ...}} after convergence, or
+     *         {@code null} if an edge at a Steiner point collapsed
+     */
+    private static double[] optimizeTopology(Point[] terminals, int[] edges, double[] init, SubproblemMemo memo) {
+        int n = terminals.length, k = init.length / 2;
+        double[] xs = new double[n + k], ys = new double[n + k];
+        for (int i = 0; i < n; i++) {
+            xs[i] = terminals[i].getX();
+            ys[i] = terminals[i].getY();
+        }
+        for (int j = 0; j < k; j++) {
+            xs[n + j] = init[2 * j];
+            ys[n + j] = init[2 * j + 1];
+        }
+        TopologyOptimizer.Result optimized = TopologyOptimizer.optimize(xs, ys, n, edges);
+        memo.countIterations(optimized.iterations);
+        if (optimized.collapsed) return null;
+
+        double[] coords = new double[2 * k];
+        for (int j = 0; j < k; j++) {
+            coords[2 * j] = xs[n + j];
+            coords[2 * j + 1] = ys[n + j];
+        }
+        return coords;
+    }
+
+    /**
+     * Computes the Steiner tree for 5 points by exhaustive enumeration of all
+     * topologies with 0, 1, 2, or 3 Steiner points, stopping early once the best tree is at
+     * most {@code target} long.
+     */
+    private SteinerResult solveForFivePoints(List<Point> points, double target, SubproblemMemo memo) {
+        Point[] p = {
+            points.get(0), points.get(1), points.get(2),
+            points.get(3), points.get(4)
+        };
+
+        SteinerResult best = mst.spanningTree(points);
+        best.setTerminalPoints(points);
+        double bestLen = best.getTotalLength();
+        if (bestLen <= target) return best;
+
+        int[][] triplets = {
+            {0,1,2},{0,1,3},{0,1,4},
+            {0,2,3},{0,2,4},{0,3,4},
+            {1,2,3},{1,2,4},{1,3,4},
+            {2,3,4}
+        };
+        int[][] PP = {{0,1,2,3},{0,2,1,3},{0,3,1,2}};
+
+        double scale5 = maxPairDistance(p);
+        double eps5   = Math.max(1e-6, 1e-3 * scale5);
+
+        for (int[] tri : triplets) {
+            int ti0=tri[0], ti1=tri[1], ti2=tri[2];
+            int[] ln = lonesOf5(tri);
+            int l0=ln[0], l1=ln[1];
+
+            Point fermat = memo.fermatPoint(p[ti0], p[ti1], p[ti2]);
+            if (fermat == null) continue;
+
+            boolean atVtx = fermat.distanceTo(p[ti0]) < 1e-6
+                         || fermat.distanceTo(p[ti1]) < 1e-6
+                         || fermat.distanceTo(p[ti2]) < 1e-6;
+
+            for (int a0 : tri) {
+                for (int a1 : new int[]{ti0, ti1, ti2, l0}) {
+                    SteinerResult c = new SteinerResult();
+                    c.setTerminalPoints(points);
+                    if (!atVtx) c.addSteinerPoint(fermat);
+                    c.addEdge(new Edge(fermat, p[ti0]));
+                    c.addEdge(new Edge(fermat, p[ti1]));
+                    c.addEdge(new Edge(fermat, p[ti2]));
+                    c.addEdge(new Edge(p[l0], p[a0]));
+                    c.addEdge(new Edge(p[l1], p[a1]));
+                    if (c.getTotalLength() < bestLen) { best=c; bestLen=c.getTotalLength(); }
+                }
+            }
+            for (int a1 : tri) {
+                SteinerResult c = new SteinerResult();
+                c.setTerminalPoints(points);
+                if (!atVtx) c.addSteinerPoint(fermat);
+                c.addEdge(new Edge(fermat, p[ti0]));
+                c.addEdge(new Edge(fermat, p[ti1]));
+                c.addEdge(new Edge(fermat, p[ti2]));
+                c.addEdge(new Edge(p[l1], p[a1]));
+                c.addEdge(new Edge(p[l0], p[l1]));
+                if (c.getTotalLength() < bestLen) { best=c; bestLen=c.getTotalLength(); }
+            }
+        }
+        if (bestLen <= target) return best;
+
+        for (int tail = 0; tail < 5; tail++) {
+            int[] core = coreOf5(tail);
+            for (int[] pp : PP) {
+                int pa=core[pp[0]], pb=core[pp[1]], pc=core[pp[2]], pd=core[pp[3]];
+                double[] bestCoords = memo.twoSteinerCore(p[pa], p[pb], p[pc], p[pd]);
+                if (bestCoords == null) continue;
+                double bestSubLen = twoSteinerLength(bestCoords, p[pa], p[pb], p[pc], p[pd]);
+                double s0x=bestCoords[0],s0y=bestCoords[1];
+                double s1x=bestCoords[2],s1y=bestCoords[3];
+                if (dist(s0x,s0y,s1x,s1y) < eps5) continue;
+                boolean s0Bad=false, s1Bad=false;
+                for (int idx : new int[]{pa,pb,pc,pd,tail}) {
+                    if (dist(s0x,s0y,p[idx].getX(),p[idx].getY()) < eps5) s0Bad=true;
+                    if (dist(s1x,s1y,p[idx].getX(),p[idx].getY()) < eps5) s1Bad=true;
+                }
+                if (s0Bad || s1Bad) continue;
+                for (int att : core) {
+                    double totalLen = bestSubLen + p[tail].distanceTo(p[att]);
+                    if (totalLen < bestLen) {
+                        bestLen = totalLen;
+                        Point s0=new Point(s0x,s0y), s1=new Point(s1x,s1y);
+                        SteinerResult c = new SteinerResult();
+                        c.setTerminalPoints(points);
+                        c.addSteinerPoint(s0); c.addSteinerPoint(s1);
+                        c.addEdge(new Edge(s0,p[pa])); c.addEdge(new Edge(s0,p[pb]));
+                        c.addEdge(new Edge(s0,s1));
+                        c.addEdge(new Edge(s1,p[pc])); c.addEdge(new Edge(s1,p[pd]));
+                        c.addEdge(new Edge(p[tail], p[att]));
+                        best = c;
+                    }
+                }
+            }
+        }
+        if (bestLen <= target) return best;
+
+        for (int mid = 0; mid < 5; mid++) {
+            int[] oth = coreOf5(mid);
+            for (int[] pp : PP) {
+                int pa=oth[pp[0]], pb=oth[pp[1]], pc=oth[pp[2]], pd=oth[pp[3]];
+                Point s0 = memo.fermatPoint(p[pa], p[pb], p[mid]);
+                Point s1 = memo.fermatPoint(p[pc], p[pd], p[mid]);
+                if (s0==null || s1==null) continue;
+                boolean s0ok = s0.distanceTo(p[pa])>eps5
+                            && s0.distanceTo(p[pb])>eps5
+                            && s0.distanceTo(p[mid])>eps5;
+                boolean s1ok = s1.distanceTo(p[pc])>eps5
+                            && s1.distanceTo(p[pd])>eps5
+                            && s1.distanceTo(p[mid])>eps5;
+                SteinerResult c = new SteinerResult();
+                c.setTerminalPoints(points);
+                if (s0ok) c.addSteinerPoint(s0);
+                if (s1ok) c.addSteinerPoint(s1);
+                c.addEdge(new Edge(s0, p[pa])); c.addEdge(new Edge(s0, p[pb]));
+                c.addEdge(new Edge(s0, p[mid]));
+                c.addEdge(new Edge(s1, p[mid]));
+                c.addEdge(new Edge(s1, p[pc])); c.addEdge(new Edge(s1, p[pd]));
+                if (c.getTotalLength() < bestLen) { best=c; bestLen=c.getTotalLength(); }
+            }
+        }
+        if (bestLen <= target) return best;
+
+        for (int tc = 0; tc < 5; tc++) {
+            int[] lv = coreOf5(tc);
+            for (int[] pp : PP) {
+                int pa=lv[pp[0]], pb=lv[pp[1]], pd=lv[pp[2]], pe=lv[pp[3]];
+                SteinerResult c = evalThreeSteiner5(p, pa, pb, tc, pd, pe, points, eps5, memo);
+                if (c==null) continue;
+                if (c.getTotalLength() < bestLen) { best=c; bestLen=c.getTotalLength(); }
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * Evaluates the chain topology S0–S1–S2 for 5 terminals where
+     * S0 connects to {Ta, Tb, S1}, S1 connects to {S0, Tc, S2}, and S2 connects to {S1, Td, Te}.
+     *
+     * @return the optimized result, or {@code null} if the topology is invalid
+     */
+    private SteinerResult evalThreeSteiner5(Point[] p,
+            int pa, int pb, int tc, int pd, int pe,
+            List<Point> allPoints, double eps, SubproblemMemo memo) {
+
+        Point ta=p[pa], tb=p[pb], tmid=p[tc], td=p[pd], te=p[pe];
+        double gx=(ta.getX()+tb.getX()+tmid.getX()+td.getX()+te.getX())/5;
+        double gy=(ta.getY()+tb.getY()+tmid.getY()+td.getY()+te.getY())/5;
+        double mabx=(ta.getX()+tb.getX())/2, maby=(ta.getY()+tb.getY())/2;
+        double mdex=(td.getX()+te.getX())/2, mdey=(td.getY()+te.getY())/2;
+
+        Point f0 = memo.fermatPoint(ta, tb, tmid);
+        Point f2 = memo.fermatPoint(td, te, tmid);
+
+        double[][] inits = {
+            {mabx,maby,  gx,gy,  mdex,mdey},
+            {f0!=null?f0.getX():mabx, f0!=null?f0.getY():maby,
+             gx, gy,
+             f2!=null?f2.getX():mdex, f2!=null?f2.getY():mdey},
+            {(ta.getX()+gx)/2,(ta.getY()+gy)/2,
+             (tmid.getX()+gx)/2,(tmid.getY()+gy)/2,
+             (td.getX()+gx)/2,(td.getY()+gy)/2}
+        };
+
+        double bestSubLen = Double.MAX_VALUE;
+        double[] bestCoords = null;
+        for (double[] init : inits) {
+            double[] coords = optimizeTopology(
+                new Point[]{ ta, tb, tmid, td, te }, THREE_STEINER_EDGES, init, memo);
+            if (coords==null) continue;
+            double s0x=coords[0],s0y=coords[1],s1x=coords[2];
+            double s1y=coords[3],s2x=coords[4],s2y=coords[5];
+            double len = dist(s0x,s0y,ta.getX(),ta.getY())
+                       + dist(s0x,s0y,tb.getX(),tb.getY())
+                       + dist(s0x,s0y,s1x,s1y)
+                       + dist(s1x,s1y,tmid.getX(),tmid.getY())
+                       + dist(s1x,s1y,s2x,s2y)
+                       + dist(s2x,s2y,td.getX(),td.getY())
+                       + dist(s2x,s2y,te.getX(),te.getY());
+            if (len < bestSubLen) { bestSubLen=len; bestCoords=coords; }
+        }
+        if (bestCoords==null) return null;
+
+        double s0x=bestCoords[0],s0y=bestCoords[1];
+        double s1x=bestCoords[2],s1y=bestCoords[3];
+        double s2x=bestCoords[4],s2y=bestCoords[5];
+
+        if (dist(s0x,s0y,s1x,s1y)<eps || dist(s1x,s1y,s2x,s2y)<eps
+         || dist(s0x,s0y,s2x,s2y)<eps) return null;
+        for (Point t : new Point[]{ta,tb,tmid,td,te}) {
+            if (dist(s0x,s0y,t.getX(),t.getY())<eps) return null;
+            if (dist(s1x,s1y,t.getX(),t.getY())<eps) return null;
+            if (dist(s2x,s2y,t.getX(),t.getY())<eps) return null;
+        }
+
+        Point s0=new Point(s0x,s0y), s1=new Point(s1x,s1y), s2=new Point(s2x,s2y);
+        SteinerResult result = new SteinerResult();
+        result.setTerminalPoints(allPoints);
+        result.addSteinerPoint(s0); result.addSteinerPoint(s1); result.addSteinerPoint(s2);
+        result.addEdge(new Edge(s0,ta)); result.addEdge(new Edge(s0,tb));
+        result.addEdge(new Edge(s0,s1));
+        result.addEdge(new Edge(s1,tmid));
+        result.addEdge(new Edge(s1,s2));
+        result.addEdge(new Edge(s2,td)); result.addEdge(new Edge(s2,te));
+        return result;
+    }
+
+    /** Returns the 2 indices in {0..4} not present in the given triplet. */
+    private int[] lonesOf5(int[] triplet) {
+        int[] lones = new int[2]; int k=0;
+        outer: for (int i=0; i<5; i++) {
+            for (int t : triplet) if (t==i) continue outer;
+            lones[k++]=i;
+        }
+        return lones;
+    }
+
+    /** Returns the 4 indices in {0..4} that are not equal to {@code excl}. */
+    private int[] coreOf5(int excl) {
+        int[] core = new int[4]; int k=0;
+        for (int i=0; i<5; i++) if (i!=excl) core[k++]=i;
+        return core;
+    }
+
+    /** Returns multiple starting points for the two-Steiner optimization. */
+    private static double[][] twoSteinerInits(Point ta, Point tb, Point tc, Point td) {
+        double mabX=(ta.getX()+tb.getX())/2, mabY=(ta.getY()+tb.getY())/2;
+        double mcdX=(tc.getX()+td.getX())/2, mcdY=(tc.getY()+td.getY())/2;
+        double cx=(ta.getX()+tb.getX()+tc.getX()+td.getX())/4;
+        double cy=(ta.getY()+tb.getY()+tc.getY()+td.getY())/4;
+        return new double[][] {
+            {mabX,mabY,mcdX,mcdY},
+            {(mabX*2+mcdX)/3,(mabY*2+mcdY)/3,(mcdX*2+mabX)/3,(mcdY*2+mabY)/3},
+            {(ta.getX()+tb.getX()+cx)/3,(ta.getY()+tb.getY()+cy)/3,
+             (tc.getX()+td.getX()+cx)/3,(tc.getY()+td.getY()+cy)/3},
+            {0.65*ta.getX()+0.35*cx, 0.65*ta.getY()+0.35*cy,
+             0.65*tc.getX()+0.35*cx, 0.65*tc.getY()+0.35*cy}
+        };
+    }
+}
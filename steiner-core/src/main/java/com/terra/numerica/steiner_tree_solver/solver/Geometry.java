@@ -0,0 +1,209 @@
+package com.terra.numerica.steiner_tree_solver.solver;
+
+import com.terra.numerica.steiner_tree_solver.model.Point;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Geometric primitives shared by the solver strategies.
+ */
+public final class Geometry {
+
+    private Geometry() {}
+
+    public static double dist(double x1, double y1, double x2, double y2) {
+        double dx = x1 - x2, dy = y1 - y2;
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
+    public static double distXY(double[] a, double[] b) {
+        double dx = a[0] - b[0], dy = a[1] - b[1];
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
+    /**
+     * Returns the angle at vertex {@code b} in the triangle (a, b, c), in radians.
+     */
+    public static double calculateAngle(Point a, Point b, Point c) {
+        double bax = a.getX() - b.getX(), bay = a.getY() - b.getY();
+        double bcx = c.getX() - b.getX(), bcy = c.getY() - b.getY();
+        double dot = bax * bcx + bay * bcy;
+        double mag = Math.sqrt(bax*bax + bay*bay) * Math.sqrt(bcx*bcx + bcy*bcy);
+        if (mag < 1e-15) return 0;
+        return Math.acos(Math.max(-1.0, Math.min(1.0, dot / mag)));
+    }
+
+    /**
+     * Checks that the three edges at Steiner point {@code s} form angles of approximately 120°
+     * (tolerance ±10°).
+     */
+    public static boolean checkAngles120(Point s, Point n1, Point n2, Point n3) {
+        double tol    = Math.toRadians(10.0);
+        double target = Math.toRadians(120.0);
+        return Math.abs(calculateAngle(n1, s, n2) - target) < tol
+            && Math.abs(calculateAngle(n2, s, n3) - target) < tol
+            && Math.abs(calculateAngle(n1, s, n3) - target) < tol;
+    }
+
+    /**
+     * Computes the Fermat-Torricelli point of three points using Weiszfeld iterations.
+     * Returns the vertex directly if one of its angles is at least 120°.
+     * Returns {@code null} if the points are collinear.
+     */
+    public static Point computeFermatPoint(Point p1, Point p2, Point p3) {
+        double threshold = Math.toRadians(120.0) - 1e-9;
+        if (calculateAngle(p2, p1, p3) >= threshold) return p1;
+        if (calculateAngle(p1, p2, p3) >= threshold) return p2;
+        if (calculateAngle(p1, p3, p2) >= threshold) return p3;
+
+        double cross = (p2.getX() - p1.getX()) * (p3.getY() - p1.getY())
+                     - (p2.getY() - p1.getY()) * (p3.getX() - p1.getX());
+        if (Math.abs(cross) < 1e-10) return null;
+
+        double x = (p1.getX() + p2.getX() + p3.getX()) / 3.0;
+        double y = (p1.getY() + p2.getY() + p3.getY()) / 3.0;
+
+        for (int i = 0; i < 50_000; i++) {
+            double d1 = dist(x, y, p1.getX(), p1.getY());
+            double d2 = dist(x, y, p2.getX(), p2.getY());
+            double d3 = dist(x, y, p3.getX(), p3.getY());
+
+            if (d1 < 1e-12) return p1;
+            if (d2 < 1e-12) return p2;
+            if (d3 < 1e-12) return p3;
+
+            double w1 = 1.0/d1, w2 = 1.0/d2, w3 = 1.0/d3, wt = w1+w2+w3;
+            double nx = (p1.getX()*w1 + p2.getX()*w2 + p3.getX()*w3) / wt;
+            double ny = (p1.getY()*w1 + p2.getY()*w2 + p3.getY()*w3) / wt;
+
+            if (Math.abs(nx - x) < 1e-10 && Math.abs(ny - y) < 1e-10) {
+                x = nx; y = ny;
+                break;
+            }
+            x = nx; y = ny;
+        }
+
+        return new Point(x, y);
+    }
+
+    /**
+     * Array-based variant of {@link #computeFermatPoint} used by the index-based heuristics.
+     */
+    public static double[] fermat2D(double[] a, double[] b, double[] c) {
+        if (angleDeg2D(b, a, c) >= 120.0 - 1e-6) return a.clone();
+        if (angleDeg2D(a, b, c) >= 120.0 - 1e-6) return b.clone();
+        if (angleDeg2D(a, c, b) >= 120.0 - 1e-6) return c.clone();
+
+        double cross = (b[0]-a[0])*(c[1]-a[1]) - (b[1]-a[1])*(c[0]-a[0]);
+        if (Math.abs(cross) < 1e-12) return null;
+
+        double[] f = {(a[0]+b[0]+c[0])/3.0, (a[1]+b[1]+c[1])/3.0};
+        double[][] pts = {a, b, c};
+
+        for (int iter = 0; iter < 50_000; iter++) {
+            double[] prev = f.clone();
+            double wx = 0, wy = 0, wt = 0;
+            for (double[] p : pts) {
+                double d = distXY(f, p);
+                if (d < 1e-12) return p.clone();
+                double w = 1.0 / d;
+                wx += w * p[0]; wy += w * p[1]; wt += w;
+            }
+            f = new double[]{wx / wt, wy / wt};
+            if (distXY(f, prev) < 1e-10) break;
+        }
+        return f;
+    }
+
+    public static double angleDeg2D(double[] a, double[] vertex, double[] c) {
+        double[] va = {a[0]-vertex[0], a[1]-vertex[1]};
+        double[] vc = {c[0]-vertex[0], c[1]-vertex[1]};
+        double dot = va[0]*vc[0] + va[1]*vc[1];
+        double mag = Math.sqrt(va[0]*va[0]+va[1]*va[1]) * Math.sqrt(vc[0]*vc[0]+vc[1]*vc[1]);
+        if (mag < 1e-15) return 0;
+        return Math.toDegrees(Math.acos(Math.max(-1.0, Math.min(1.0, dot / mag))));
+    }
+
+    /** Returns the maximum pairwise distance among the given points. */
+    public static double maxPairDistance(Point... p) {
+        double max = 0;
+        for (int i = 0; i < p.length; i++)
+            for (int j = i + 1; j < p.length; j++)
+                max = Math.max(max, p[i].distanceTo(p[j]));
+        return max;
+    }
+
+    /**
+     * Builds the Euclidean MST over the given nodes with the O(n²) Prim algorithm.
+     *
+     * @return the MST edges as {@code int[]{parent, child}} index pairs
+     */
+    public static List<int[]> buildMSTEdgeIndices(List<double[]> nodes) {
+        int n = nodes.size();
+        boolean[] inMST  = new boolean[n];
+        double[]  minDist = new double[n];
+        int[]     parent  = new int[n];
+        Arrays.fill(minDist, Double.MAX_VALUE);
+        Arrays.fill(parent, -1);
+        minDist[0] = 0;
+
+        for (int count = 0; count < n; count++) {
+            int u = -1;
+            for (int i = 0; i < n; i++)
+                if (!inMST[i] && (u == -1 || minDist[i] < minDist[u])) u = i;
+            if (u == -1) break;
+            inMST[u] = true;
+            for (int v = 0; v < n; v++) {
+                if (!inMST[v]) {
+                    double d = distXY(nodes.get(u), nodes.get(v));
+                    if (d < minDist[v]) { minDist[v] = d; parent[v] = u; }
+                }
+            }
+        }
+
+        List<int[]> edgeList = new ArrayList<>();
+        for (int i = 1; i < n; i++)
+            if (parent[i] != -1) edgeList.add(new int[]{parent[i], i});
+        return edgeList;
+    }
+
+    /**
+     * Array-based Prim over the first {@code count} nodes.
+     *
+     * @return the MST parent of each node, {@code -1} for the root (node 0)
+     */
+    public static int[] mstParents(double[] xs, double[] ys, int count) {
+        return mstParents(xs, ys, count, SolveOptions.defaults());
+    }
+
+    /**
+     * Same as {@link #mstParents(double[], double[], int)}, polling {@code options} for
+     * cancellation every 1024 vertices.
+     */
+    public static int[] mstParents(double[] xs, double[] ys, int count, SolveOptions options) {
+        boolean[] inMST  = new boolean[count];
+        double[]  minDist = new double[count];
+        int[]     parent  = new int[count];
+        Arrays.fill(minDist, Double.MAX_VALUE);
+        Arrays.fill(parent, -1);
+        if (count == 0) return parent;
+        minDist[0] = 0;
+
+        for (int step = 0; step < count; step++) {
+            if ((step & 1023) == 0) options.throwIfCancelled();
+            int u = -1;
+            for (int i = 0; i < count; i++)
+                if (!inMST[i] && (u == -1 || minDist[i] < minDist[u])) u = i;
+            inMST[u] = true;
+            for (int v = 0; v < count; v++) {
+                if (!inMST[v]) {
+                    double d = dist(xs[u], ys[u], xs[v], ys[v]);
+                    if (d < minDist[v]) { minDist[v] = d; parent[v] = u; }
+                }
+            }
+        }
+        return parent;
+    }
+}
@@ -0,0 +1,163 @@
+package com.terra.numerica.steiner_tree_solver.solver;
+
+import com.terra.numerica.steiner_tree_solver.model.Edge;
+import com.terra.numerica.steiner_tree_solver.model.Point;
+import com.terra.numerica.steiner_tree_solver.model.SteinerResult;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.terra.numerica.steiner_tree_solver.solver.Geometry.buildMSTEdgeIndices;
+import static com.terra.numerica.steiner_tree_solver.solver.Geometry.distXY;
+import static com.terra.numerica.steiner_tree_solver.solver.Geometry.fermat2D;
+
+/**
+ * Greedy Fermat point insertion on top of the MST. Insertion stops early once the tree meets
+ * the {@linkplain SolveOptions#withTargetGap target gap}, if any.
+ */
+public class HeuristicSolver implements SteinerSolver {
+
+    public static final String NAME = "heuristic";
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public int qualityRank() {
+        return 2;
+    }
+
+    @Override
+    public boolean supports(int n) {
+        return n >= 3;
+    }
+
+    @Override
+    public double complexityExponent() {
+        return 3.0;
+    }
+
+    @Override
+    public int calibrationSize() {
+        return 60;
+    }
+
+    @Override
+    public SteinerResult solve(List<Point> points, SolveOptions options) {
+        return solveWithSteinerHeuristic(points, options);
+    }
+
+    /**
+     * Heuristic Steiner tree for any number of points.
+     * Starts from the MST and iteratively inserts Fermat points where they reduce total length.
+     */
+    private SteinerResult solveWithSteinerHeuristic(List<Point> points, SolveOptions options) {
+        int n = points.size();
+
+        List<double[]> nodes = new ArrayList<>();
+        for (Point p : points) nodes.add(new double[]{p.getX(), p.getY()});
+
+        double scale = 0;
+        for (int i = 0; i < n; i++)
+            for (int j = i + 1; j < n; j++)
+                scale = Math.max(scale, distXY(nodes.get(i), nodes.get(j)));
+        if (scale < 1e-9) scale = 1.0;
+
+        final double minSep = Math.max(1.0, scale * 0.01);
+
+        List<int[]> edges = buildMSTEdgeIndices(nodes);
+        double length = 0;
+        for (int[] e : edges) length += distXY(nodes.get(e[0]), nodes.get(e[1]));
+        double target = LowerBounds.targetLength(points, options, true);
+
+        boolean improved = true;
+        int maxPasses = 5 * n;
+
+        while (improved && maxPasses-- > 0 && length > target) {
+            options.throwIfCancelled();
+            improved = false;
+
+            Map<Integer, List<Integer>> adj = buildAdj(nodes.size(), edges);
+
+            outerLoop:
+            for (int v = 0; v < nodes.size(); v++) {
+                List<Integer> nbrs = adj.getOrDefault(v, Collections.emptyList());
+                if (nbrs.size() < 2) continue;
+
+                for (int i = 0; i < nbrs.size(); i++) {
+                    for (int j = i + 1; j < nbrs.size(); j++) {
+                        int a = nbrs.get(i);
+                        int b = nbrs.get(j);
+
+                        double[] pa = nodes.get(a);
+                        double[] pv = nodes.get(v);
+                        double[] pb = nodes.get(b);
+
+                        double[] F = fermat2D(pa, pv, pb);
+                        if (F == null) continue;
+
+                        double oldCost    = distXY(pa, pv) + distXY(pv, pb);
+                        double newCost    = distXY(F, pa)  + distXY(F, pv) + distXY(F, pb);
+                        double improvement = oldCost - newCost;
+
+                        if (improvement < Math.max(1e-6, oldCost * 5e-4)) continue;
+
+                        boolean tooClose = false;
+                        for (int ndIdx = n; ndIdx < nodes.size(); ndIdx++) {
+                            if (distXY(F, nodes.get(ndIdx)) < minSep) {
+                                tooClose = true; break;
+                            }
+                        }
+                        if (tooClose) continue;
+
+                        int fIdx = nodes.size();
+                        nodes.add(F);
+                        removeEdgeFromList(edges, v, a);
+                        removeEdgeFromList(edges, v, b);
+                        edges.add(new int[]{fIdx, a});
+                        edges.add(new int[]{fIdx, v});
+                        edges.add(new int[]{fIdx, b});
+                        length -= improvement;
+
+                        improved = true;
+                        break outerLoop;
+                    }
+                }
+            }
+        }
+
+        SteinerResult result = new SteinerResult();
+        result.setTerminalPoints(points);
+
+        for (int[] e : edges) {
+            double[] p1 = nodes.get(e[0]);
+            double[] p2 = nodes.get(e[1]);
+            result.addEdge(new Edge(new Point(p1[0], p1[1]), new Point(p2[0], p2[1])));
+        }
+
+        for (int i = n; i < nodes.size(); i++) {
+            double[] p = nodes.get(i);
+            result.addSteinerPoint(new Point(p[0], p[1]));
+        }
+
+        return result;
+    }
+
+    private Map<Integer, List<Integer>> buildAdj(int n, List<int[]> edges) {
+        Map<Integer, List<Integer>> adj = new HashMap<>();
+        for (int[] e : edges) {
+            adj.computeIfAbsent(e[0], k -> new ArrayList<>()).add(e[1]);
+            adj.computeIfAbsent(e[1], k -> new ArrayList<>()).add(e[0]);
+        }
+        return adj;
+    }
+
+    private void removeEdgeFromList(List<int[]> edges, int u, int v) {
+        edges.removeIf(e -> (e[0] == u && e[1] == v) || (e[0] == v && e[1] == u));
+    }
+}
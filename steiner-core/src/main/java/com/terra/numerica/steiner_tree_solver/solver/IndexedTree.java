@@ -0,0 +1,176 @@
+package com.terra.numerica.steiner_tree_solver.solver;
+
+import com.terra.numerica.steiner_tree_solver.model.Edge;
+import com.terra.numerica.steiner_tree_solver.model.Point;
+import com.terra.numerica.steiner_tree_solver.model.SteinerResult;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Primitive representation of a Steiner tree: node coordinates in flat arrays, terminals first
+ * (in input order) followed by Steiner points, and edges as pairs of node indices.
+ * Large results can be produced and serialised in this form without allocating one object
+ * per point or edge.
+ */
+public final class IndexedTree {
+
+    private final double[] xs;
+    private final double[] ys;
+    private final int terminalCount;
+    private final int[] edges;
+    private String strategy;
+    private double lowerBound;
+
+    /**
+     * @param xs            node x coordinates, terminals first
+     * @param ys            node y coordinates, terminals first
+     * @param terminalCount number of leading nodes that are terminals
+     * @param edges         node index pairs, {@code edges[2i]} to {@code edges[2i + 1]}
+     */
+    public IndexedTree(double[] xs, double[] ys, int terminalCount, int[] edges) {
+        this.xs = xs;
+        this.ys = ys;
+        this.terminalCount = terminalCount;
+        this.edges = edges;
+    }
+
+    /**
+     * Converts an object result. Edge endpoints are matched to nodes by identity first, then by
+     * coordinates; endpoints matching neither a terminal nor a listed Steiner point are appended
+     * as Steiner nodes.
+     */
+    public static IndexedTree fromResult(List<Point> terminals, SteinerResult result) {
+        List<Point> nodes = new ArrayList<>(terminals.size() + result.getSteinerPoints().size());
+        Map<Point, Integer> byIdentity = new IdentityHashMap<>();
+        Map<String, Integer> byCoords = new HashMap<>();
+        for (Point p : terminals) register(p, nodes, byIdentity, byCoords);
+        for (Point p : result.getSteinerPoints()) register(p, nodes, byIdentity, byCoords);
+
+        int[] edges = new int[result.getEdges().size() * 2];
+        for (int i = 0; i < result.getEdges().size(); i++) {
+            Edge e = result.getEdges().get(i);
+            edges[2 * i]     = indexOf(e.getStart(), nodes, byIdentity, byCoords);
+            edges[2 * i + 1] = indexOf(e.getEnd(), nodes, byIdentity, byCoords);
+        }
+
+        double[] xs = new double[nodes.size()], ys = new double[nodes.size()];
+        for (int i = 0; i < nodes.size(); i++) {
+            xs[i] = nodes.get(i).getX();
+            ys[i] = nodes.get(i).getY();
+        }
+        IndexedTree tree = new IndexedTree(xs, ys, terminals.size(), edges);
+        tree.setStrategy(result.getStrategy());
+        tree.setLowerBound(result.getLowerBound());
+        return tree;
+    }
+
+    private static int register(Point p, List<Point> nodes,
+                                Map<Point, Integer> byIdentity, Map<String, Integer> byCoords) {
+        int index = nodes.size();
+        nodes.add(p);
+        byIdentity.putIfAbsent(p, index);
+        byCoords.putIfAbsent(key(p), index);
+        return index;
+    }
+
+    private static int indexOf(Point p, List<Point> nodes,
+                               Map<Point, Integer> byIdentity, Map<String, Integer> byCoords) {
+        Integer index = byIdentity.get(p);
+        if (index == null) index = byCoords.get(key(p));
+        if (index == null) index = register(p, nodes, byIdentity, byCoords);
+        return index;
+    }
+
+    private static String key(Point p) {
+        return Double.doubleToLongBits(p.getX()) + ":" + Double.doubleToLongBits(p.getY());
+    }
+
+    /** Materialises the tree as a {@link SteinerResult} sharing the given terminal objects. */
+    public SteinerResult toResult(List<Point> terminals) {
+        Point[] nodes = new Point[xs.length];
+        for (int i = 0; i < terminalCount; i++) nodes[i] = terminals.get(i);
+
+        SteinerResult result = new SteinerResult();
+        result.setTerminalPoints(terminals);
+        for (int i = terminalCount; i < xs.length; i++) {
+            nodes[i] = new Point(xs[i], ys[i]);
+            result.addSteinerPoint(nodes[i]);
+        }
+        for (int i = 0; i < edgeCount(); i++) {
+            result.addEdge(new Edge(nodes[edges[2 * i]], nodes[edges[2 * i + 1]]));
+        }
+        result.setStrategy(strategy);
+        result.setLowerBound(lowerBound);
+        result.setGap(gap());
+        return result;
+    }
+
+    public int nodeCount() {
+        return xs.length;
+    }
+
+    public int terminalCount() {
+        return terminalCount;
+    }
+
+    public int steinerCount() {
+        return xs.length - terminalCount;
+    }
+
+    public int edgeCount() {
+        return edges.length / 2;
+    }
+
+    public double x(int node) {
+        return xs[node];
+    }
+
+    public double y(int node) {
+        return ys[node];
+    }
+
+    public int edgeStart(int edge) {
+        return edges[2 * edge];
+    }
+
+    public int edgeEnd(int edge) {
+        return edges[2 * edge + 1];
+    }
+
+    public double edgeLength(int edge) {
+        int a = edges[2 * edge], b = edges[2 * edge + 1];
+        return Geometry.dist(xs[a], ys[a], xs[b], ys[b]);
+    }
+
+    public double totalLength() {
+        double total = 0;
+        for (int i = 0; i < edgeCount(); i++) total += edgeLength(i);
+        return total;
+    }
+
+    public String getStrategy() {
+        return strategy;
+    }
+
+    public void setStrategy(String strategy) {
+        this.strategy = strategy;
+    }
+
+    /** Lower bound on the optimal length, 0 if none was computed. */
+    public double getLowerBound() {
+        return lowerBound;
+    }
+
+    public void setLowerBound(double lowerBound) {
+        this.lowerBound = lowerBound;
+    }
+
+    /** Relative gap between the tree and its lower bound; see {@link LowerBounds#gap}. */
+    public double gap() {
+        return LowerBounds.gap(totalLength(), lowerBound);
+    }
+}
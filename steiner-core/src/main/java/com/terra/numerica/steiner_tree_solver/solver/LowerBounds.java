@@ -0,0 +1,166 @@
+package com.terra.numerica.steiner_tree_solver.solver;
+
+import com.terra.numerica.steiner_tree_solver.model.Point;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Lower bounds on the length of the Steiner minimal tree of a set of terminals, used to report
+ * how far a solution may be from the optimum and to stop searches once close enough.
+ * <p>
+ * The bound is the largest of:
+ * <ul>
+ *   <li>the Steiner ratio bound {@code sqrt(3)/2} times the MST length (Gilbert and Pollak's
+ *       conjecture; Du and Hwang's proof of it has been questioned, but no counterexample is
+ *       known);</li>
+ *   <li>half the perimeter of the convex hull, since walking around the tree visits every hull
+ *       vertex; this also dominates the diameter;</li>
+ *   <li>the exact Steiner tree of up to five terminals picked by farthest-point sampling, since
+ *       the Steiner tree of a subset is never longer than that of the whole set.</li>
+ * </ul>
+ * All three take O(n log n) time, the MST being computed over the Delaunay edges.
+ */
+public final class LowerBounds {
+
+    static final double STEINER_RATIO = Math.sqrt(3) / 2;
+
+    /** Inputs up to this size use the quadratic Prim MST instead of triangulating. */
+    private static final int SMALL_INPUT = 64;
+
+    private static final ExactSolver EXACT = new ExactSolver();
+
+    private LowerBounds() {}
+
+    /** Best lower bound on the Steiner minimal tree of {@code points}. */
+    public static double of(List<Point> points) {
+        return of(points, -1);
+    }
+
+    /**
+     * Same as {@link #of(List)} when the MST length is already known, which saves the
+     * triangulation.
+     */
+    public static double of(List<Point> points, double mstLength) {
+        int n = points.size();
+        double[] xs = new double[n], ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = points.get(i).getX();
+            ys[i] = points.get(i).getY();
+        }
+        return of(xs, ys, mstLength, true);
+    }
+
+    /**
+     * @param mstLength  MST length of the terminals, or a negative value to compute it
+     * @param withSubset whether to include the exact subset bound; {@link ExactSolver} itself
+     *                   leaves it out, the subset being the whole input
+     */
+    static double of(double[] xs, double[] ys, double mstLength, boolean withSubset) {
+        if (xs.length < 2) return 0;
+        if (mstLength < 0) mstLength = mstLength(xs, ys);
+        double bound = Math.max(STEINER_RATIO * mstLength, hullPerimeter(xs, ys) / 2);
+        return withSubset ? Math.max(bound, subsetBound(xs, ys)) : bound;
+    }
+
+    /** Relative gap {@code (length - lowerBound) / lowerBound}, 0 when the bound is 0. */
+    public static double gap(double length, double lowerBound) {
+        return lowerBound > 0 ? Math.max(0, (length - lowerBound) / lowerBound) : 0;
+    }
+
+    /**
+     * Length at or below which a search may stop under the target gap of {@code options},
+     * or 0 when no target gap is set.
+     */
+    static double targetLength(double[] xs, double[] ys, SolveOptions options, boolean withSubset) {
+        if (options.getTargetGap() <= 0) return 0;
+        return of(xs, ys, -1, withSubset) * (1 + options.getTargetGap());
+    }
+
+    static double targetLength(List<Point> points, SolveOptions options, boolean withSubset) {
+        if (options.getTargetGap() <= 0) return 0;
+        int n = points.size();
+        double[] xs = new double[n], ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = points.get(i).getX();
+            ys[i] = points.get(i).getY();
+        }
+        return targetLength(xs, ys, options, withSubset);
+    }
+
+    static double mstLength(double[] xs, double[] ys) {
+        int n = xs.length;
+        double total = 0;
+        if (n > SMALL_INPUT) {
+            int[] edges = DelaunaySolver.mstEdges(xs, ys);
+            for (int e = 0; e < edges.length; e += 2) {
+                total += Geometry.dist(xs[edges[e]], ys[edges[e]], xs[edges[e + 1]], ys[edges[e + 1]]);
+            }
+            return total;
+        }
+        int[] parent = Geometry.mstParents(xs, ys, n);
+        for (int i = 1; i < n; i++) {
+            if (parent[i] >= 0) total += Geometry.dist(xs[i], ys[i], xs[parent[i]], ys[parent[i]]);
+        }
+        return total;
+    }
+
+    /** Perimeter of the convex hull, by Andrew's monotone chain. */
+    static double hullPerimeter(double[] xs, double[] ys) {
+        int n = xs.length;
+        Integer[] boxed = new Integer[n];
+        for (int i = 0; i < n; i++) boxed[i] = i;
+        Arrays.sort(boxed, (a, b) -> xs[a] != xs[b] ? Double.compare(xs[a], xs[b]) : Double.compare(ys[a], ys[b]));
+
+        int[] hull = new int[2 * n];
+        int h = 0;
+        for (int pass = 0; pass < 2; pass++) {
+            int floor = h;
+            for (int j = 0; j < n; j++) {
+                int i = boxed[pass == 0 ? j : n - 1 - j];
+                while (h >= floor + 2 && cross(xs, ys, hull[h - 2], hull[h - 1], i) <= 0) h--;
+                hull[h++] = i;
+            }
+            h--; // the last point of each chain starts the other one
+        }
+
+        double perimeter = 0;
+        for (int i = 0; i < h; i++) {
+            int a = hull[i], b = hull[(i + 1) % h];
+            perimeter += Geometry.dist(xs[a], ys[a], xs[b], ys[b]);
+        }
+        return perimeter;
+    }
+
+    private static double cross(double[] xs, double[] ys, int o, int a, int b) {
+        return (xs[a] - xs[o]) * (ys[b] - ys[o]) - (ys[a] - ys[o]) * (xs[b] - xs[o]);
+    }
+
+    /** Exact Steiner tree length of up to five terminals spread out by farthest-point sampling. */
+    static double subsetBound(double[] xs, double[] ys) {
+        int n = xs.length;
+        int first = 0;
+        for (int i = 1; i < n; i++) {
+            if (xs[i] < xs[first] || (xs[i] == xs[first] && ys[i] < ys[first])) first = i;
+        }
+
+        double[] nearest = new double[n];
+        Arrays.fill(nearest, Double.MAX_VALUE);
+        List<Point> subset = new ArrayList<>(5);
+        for (int next = first; next >= 0 && subset.size() < 5; ) {
+            subset.add(new Point(xs[next], ys[next]));
+            int chosen = next;
+            next = -1;
+            double farthest = 0;
+            for (int i = 0; i < n; i++) {
+                nearest[i] = Math.min(nearest[i], Geometry.dist(xs[i], ys[i], xs[chosen], ys[chosen]));
+                if (nearest[i] > farthest) {
+                    farthest = nearest[i];
+                    next = i;
+                }
+            }
+        }
+        return subset.size() < 2 ? 0 : EXACT.solve(subset, SolveOptions.defaults()).getTotalLength();
+    }
+}
@@ -0,0 +1,352 @@
+package com.terra.numerica.steiner_tree_solver.solver;
+
+import com.terra.numerica.steiner_tree_solver.model.Edge;
+import com.terra.numerica.steiner_tree_solver.model.Point;
+import com.terra.numerica.steiner_tree_solver.model.SteinerResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Parallel simulated annealing over Steiner topologies for mid-size inputs.
+ * <p>
+ * A state is a set of Steiner point positions; its topology is the MST over terminals and
+ * Steiner points, from which Steiner points of degree below 3 are pruned. Every candidate is
+ * evaluated after a local re-optimisation of its Steiner points, and the optimised positions
+ * become the new state. Moves insert a Fermat point between two neighbours of a node, delete a
+ * Steiner point, or shift one.
+ * <p>
+ * A solve runs one independent chain per thread, seeded from {@code seed} and its chain index,
+ * and each chain publishes improvements to a shared incumbent with a compare-and-set loop.
+ * Chains never read the incumbent, so the result is deterministic for a given seed and thread
+ * count as long as no chain is cut short by the wall-clock budget
+ * ({@link SolveOptions#getDeadlineMillis()}). With a {@linkplain SolveOptions#withTargetGap
+ * target gap}, the first chain to reach it stops every chain.
+ * <p>
+ * The calling thread runs the first chain and a pool shared by all solves runs the others. Once
+ * its own chain is done, the caller also runs every chain the pool has not started, so a solve
+ * never spends its budget queued behind the chains of concurrent solves.
+ */
+public class MetaheuristicSolver implements SteinerSolver, AutoCloseable {
+
+    public static final String NAME = "annealing";
+
+    static final int MIN_POINTS = 6;
+    static final int MAX_POINTS = 200;
+
+    private static final int ITERATIONS_PER_POINT = 50;
+    private static final double OPTIMISATION_TOLERANCE = 1e-6;
+    private static final int OPTIMISATION_ITERATIONS = 30;
+
+    private final int threads;
+    private final long seed;
+    private final HeuristicSolver heuristic = new HeuristicSolver();
+    private final ExecutorService executor;
+
+    public MetaheuristicSolver() {
+        this(Runtime.getRuntime().availableProcessors(), 42L);
+    }
+
+    public MetaheuristicSolver(int threads, long seed) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread is required");
+        }
+        this.threads = threads;
+        this.seed = seed;
+        if (threads == 1) {
+            this.executor = null;
+            return;
+        }
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads - 1, r -> {
+            Thread t = new Thread(r, "steiner-annealing-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public int qualityRank() {
+        return 3;
+    }
+
+    @Override
+    public boolean supports(int n) {
+        return n >= MIN_POINTS && n <= MAX_POINTS;
+    }
+
+    @Override
+    public double complexityExponent() {
+        return 3.0;
+    }
+
+    @Override
+    public int calibrationSize() {
+        return 30;
+    }
+
+    @Override
+    public SteinerResult solve(List<Point> points, SolveOptions options) {
+        long deadline = System.nanoTime() + options.getDeadlineMillis() * 1_000_000L;
+        int n = points.size();
+        double[] tx = new double[n], ty = new double[n];
+        for (int i = 0; i < n; i++) {
+            tx[i] = points.get(i).getX();
+            ty[i] = points.get(i).getY();
+        }
+
+        SteinerResult start = heuristic.solve(points, options);
+        int k = start.getSteinerPoints().size();
+        double[] sx = new double[k], sy = new double[k];
+        for (int j = 0; j < k; j++) {
+            sx[j] = start.getSteinerPoints().get(j).getX();
+            sy[j] = start.getSteinerPoints().get(j).getY();
+        }
+
+        Candidate initial = evaluate(tx, ty, sx, sy, -1);
+        AtomicReference<Candidate> incumbent = new AtomicReference<>(initial);
+        double target = LowerBounds.targetLength(tx, ty, options, true);
+        if (initial.length <= target) return toResult(points, initial);
+        AtomicBoolean reached = new AtomicBoolean();
+
+        // chains go to whichever of the pool and this thread claims them first; only the chains
+        // the pool has claimed are waited for
+        AtomicBoolean[] claimed = new AtomicBoolean[threads];
+        List<CompletableFuture<Void>> pooled = new ArrayList<>(threads);
+        for (int c = 0; c < threads; c++) {
+            claimed[c] = new AtomicBoolean();
+            pooled.add(new CompletableFuture<>());
+        }
+        for (int c = 1; c < threads; c++) {
+            int chain = c;
+            try {
+                executor.execute(() -> {
+                    if (!claimed[chain].compareAndSet(false, true)) return;
+                    try {
+                        runChain(chain, tx, ty, initial, incumbent, target, reached, deadline, options);
+                        pooled.get(chain).complete(null);
+                    } catch (Throwable e) {
+                        pooled.get(chain).completeExceptionally(e);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                break; // closed: the remaining chains run here
+            }
+        }
+        List<CompletableFuture<Void>> running = new ArrayList<>(threads);
+        for (int c = 0; c < threads; c++) {
+            if (claimed[c].compareAndSet(false, true)) {
+                runChain(c, tx, ty, initial, incumbent, target, reached, deadline, options);
+            } else {
+                running.add(pooled.get(c));
+            }
+        }
+        CompletableFuture.allOf(running.toArray(new CompletableFuture[0])).join();
+        options.throwIfCancelled();
+
+        return toResult(points, incumbent.get());
+    }
+
+    /**
+     * Stops the chain pool; solves still running finish their chains on the calling thread.
+     */
+    @Override
+    public void close() {
+        if (executor != null) executor.shutdownNow();
+    }
+
+    /** Steiner point positions of a state together with its evaluated tree. */
+    private static final class Candidate {
+        final double[] sx, sy;
+        final int[] parent;
+        final double length;
+        final int chain;
+
+        Candidate(double[] sx, double[] sy, int[] parent, double length, int chain) {
+            this.sx = sx;
+            this.sy = sy;
+            this.parent = parent;
+            this.length = length;
+            this.chain = chain;
+        }
+
+        boolean betterThan(Candidate other) {
+            return length < other.length || (length == other.length && chain < other.chain);
+        }
+    }
+
+    private void runChain(int chain, double[] tx, double[] ty, Candidate initial,
+                          AtomicReference<Candidate> incumbent, double target, AtomicBoolean reached,
+                          long deadline, SolveOptions options) {
+        int n = tx.length;
+        SplittableRandom random = new SplittableRandom(seed + chain * 0x9E3779B97F4A7C15L);
+        int iterations = ITERATIONS_PER_POINT * n;
+
+        double meanEdge = initial.length / (n - 1);
+        double t0 = 0.05 * meanEdge, tEnd = 1e-4 * meanEdge;
+        double cooling = Math.pow(tEnd / t0, 1.0 / iterations);
+
+        Candidate current = new Candidate(initial.sx, initial.sy, initial.parent, initial.length, chain);
+        Candidate best = current;
+        double temperature = t0;
+
+        for (int iter = 0; iter < iterations; iter++, temperature *= cooling) {
+            if (System.nanoTime() > deadline || options.isCancelled() || reached.get()) break;
+
+            double[][] moved = propose(current, tx, ty, random, Math.sqrt(temperature / t0) * meanEdge);
+            if (moved == null) continue;
+            Candidate next = evaluate(tx, ty, moved[0], moved[1], chain);
+
+            double delta = next.length - current.length;
+            if (delta <= 0 || random.nextDouble() < Math.exp(-delta / temperature)) {
+                current = next;
+                if (current.betterThan(best)) best = current;
+                if (best.length <= target) {
+                    reached.set(true);
+                    break;
+                }
+            }
+        }
+
+        incumbent.accumulateAndGet(best, (shared, mine) -> mine.betterThan(shared) ? mine : shared);
+    }
+
+    /**
+     * Returns the Steiner point positions after one random move, or {@code null} if the
+     * drawn move does not apply to the current state.
+     */
+    private double[][] propose(Candidate current, double[] tx, double[] ty,
+                               SplittableRandom random, double step) {
+        int n = tx.length, k = current.sx.length;
+        int move = random.nextInt(3);
+
+        if (move == 0 || k == 0) {
+            if (k >= n - 2) return null;
+            int m = n + k;
+            int v = random.nextInt(m);
+            List<Integer> nbrs = new ArrayList<>();
+            for (int i = 1; i < m; i++) {
+                if (current.parent[i] == v) nbrs.add(i);
+                else if (i == v) nbrs.add(current.parent[i]);
+            }
+            if (nbrs.size() < 2) return null;
+            int a = nbrs.get(random.nextInt(nbrs.size()));
+            int b = nbrs.get(random.nextInt(nbrs.size()));
+            if (a == b) return null;
+            double[] f = Geometry.fermat2D(node(a, tx, ty, current), node(v, tx, ty, current),
+                                           node(b, tx, ty, current));
+            if (f == null) return null;
+
+            double[] sx = Arrays.copyOf(current.sx, k + 1);
+            double[] sy = Arrays.copyOf(current.sy, k + 1);
+            sx[k] = f[0];
+            sy[k] = f[1];
+            return new double[][]{ sx, sy };
+        }
+
+        int j = random.nextInt(k);
+        if (move == 1) {
+            double[] sx = new double[k - 1], sy = new double[k - 1];
+            for (int i = 0, o = 0; i < k; i++) {
+                if (i == j) continue;
+                sx[o] = current.sx[i];
+                sy[o++] = current.sy[i];
+            }
+            return new double[][]{ sx, sy };
+        }
+
+        double[] sx = current.sx.clone(), sy = current.sy.clone();
+        sx[j] += random.nextDouble(-step, step);
+        sy[j] += random.nextDouble(-step, step);
+        return new double[][]{ sx, sy };
+    }
+
+    private static double[] node(int i, double[] tx, double[] ty, Candidate c) {
+        int n = tx.length;
+        return i < n ? new double[]{ tx[i], ty[i] } : new double[]{ c.sx[i - n], c.sy[i - n] };
+    }
+
+    /**
+     * Builds the MST over terminals and Steiner points, prunes Steiner points of degree below 3
+     * until none is left, then re-optimises the remaining Steiner points on that topology.
+     */
+    private Candidate evaluate(double[] tx, double[] ty, double[] sx, double[] sy, int chain) {
+        int n = tx.length;
+        while (true) {
+            int k = sx.length, m = n + k;
+            double[] xs = new double[m], ys = new double[m];
+            System.arraycopy(tx, 0, xs, 0, n);
+            System.arraycopy(ty, 0, ys, 0, n);
+            System.arraycopy(sx, 0, xs, n, k);
+            System.arraycopy(sy, 0, ys, n, k);
+
+            int[] parent = Geometry.mstParents(xs, ys, m);
+            int[] degree = new int[m];
+            for (int i = 1; i < m; i++) { degree[i]++; degree[parent[i]]++; }
+
+            int kept = 0;
+            for (int j = 0; j < k; j++) if (degree[n + j] >= 3) kept++;
+            if (kept < k) {
+                double[] nsx = new double[kept], nsy = new double[kept];
+                for (int j = 0, o = 0; j < k; j++) {
+                    if (degree[n + j] < 3) continue;
+                    nsx[o] = sx[j];
+                    nsy[o++] = sy[j];
+                }
+                sx = nsx;
+                sy = nsy;
+                continue;
+            }
+
+            double length = optimise(xs, ys, n, parent);
+            return new Candidate(Arrays.copyOfRange(xs, n, m),
+                                 Arrays.copyOfRange(ys, n, m), parent, length, chain);
+        }
+    }
+
+    /**
+     * Moves every Steiner point to its optimal position on the current topology, with a looser
+     * tolerance than the exact solver since most candidates are discarded.
+     *
+     * @return the total length of the tree after optimisation
+     */
+    private double optimise(double[] xs, double[] ys, int n, int[] parent) {
+        int m = xs.length;
+        int[] edges = new int[2 * (m - 1)];
+        for (int i = 1; i < m; i++) {
+            edges[2 * (i - 1)] = parent[i];
+            edges[2 * (i - 1) + 1] = i;
+        }
+        return TopologyOptimizer.optimize(xs, ys, n, edges, OPTIMISATION_TOLERANCE, OPTIMISATION_ITERATIONS).length;
+    }
+
+    private SteinerResult toResult(List<Point> points, Candidate best) {
+        int n = points.size();
+        List<Point> nodes = new ArrayList<>(points);
+        SteinerResult result = new SteinerResult();
+        result.setTerminalPoints(points);
+        for (int j = 0; j < best.sx.length; j++) {
+            Point s = new Point(best.sx[j], best.sy[j]);
+            nodes.add(s);
+            result.addSteinerPoint(s);
+        }
+        for (int i = 1; i < n + best.sx.length; i++) {
+            result.addEdge(new Edge(nodes.get(best.parent[i]), nodes.get(i)));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,150 @@
+package com.terra.numerica.steiner_tree_solver.solver;
+
+import com.terra.numerica.steiner_tree_solver.model.Edge;
+import com.terra.numerica.steiner_tree_solver.model.Point;
+import com.terra.numerica.steiner_tree_solver.model.SteinerResult;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Euclidean minimum spanning tree (Prim's algorithm, O(n²)), without Steiner points.
+ * <p>
+ * Constructed with a thread count, the solver computes trees of at least
+ * {@link #PARALLEL_MIN_POINTS} points with {@link BoruvkaMst} on a fork/join pool of that many
+ * threads instead. The {@link CostModel} models and calibrates both regimes separately.
+ */
+public class MstSolver implements SteinerSolver {
+
+    public static final String NAME = "mst";
+
+    /** Smallest input handed to {@link BoruvkaMst}; Prim is as fast below. */
+    static final int PARALLEL_MIN_POINTS = 2048;
+
+    /** Pool of the parallel mode, {@code null} for Prim only. */
+    private final ForkJoinPool pool;
+
+    public MstSolver() {
+        this.pool = null;
+    }
+
+    public MstSolver(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread is required");
+        }
+        AtomicInteger counter = new AtomicInteger();
+        this.pool = new ForkJoinPool(threads, p -> {
+            ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            t.setName("steiner-mst-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        }, null, false);
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public int qualityRank() {
+        return 0;
+    }
+
+    @Override
+    public boolean supports(int n) {
+        return n >= 2;
+    }
+
+    @Override
+    public double complexityExponent() {
+        return 2.0;
+    }
+
+    @Override
+    public int calibrationSize() {
+        return 500;
+    }
+
+    /** Borůvka's regime, with a pool; Prim runs below it whatever the pool. */
+    @Override
+    public int largeInputSize() {
+        return pool != null ? PARALLEL_MIN_POINTS : 0;
+    }
+
+    @Override
+    public double largeComplexityExponent() {
+        return 1.1;
+    }
+
+    @Override
+    public int largeCalibrationSize() {
+        return 2 * PARALLEL_MIN_POINTS;
+    }
+
+    @Override
+    public SteinerResult solve(List<Point> points, SolveOptions options) {
+        return solveIndexed(points, options).toResult(points);
+    }
+
+    @Override
+    public IndexedTree solveIndexed(List<Point> points, SolveOptions options) {
+        int n = points.size();
+        double[] xs = new double[n], ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = points.get(i).getX();
+            ys[i] = points.get(i).getY();
+        }
+        if (pool != null && n >= PARALLEL_MIN_POINTS) {
+            return new IndexedTree(xs, ys, n, BoruvkaMst.edges(xs, ys, pool, options));
+        }
+        int[] parent = Geometry.mstParents(xs, ys, n, options);
+        int[] edges = new int[2 * (n - 1)];
+        for (int i = 1; i < n; i++) {
+            edges[2 * (i - 1)]     = parent[i];
+            edges[2 * (i - 1) + 1] = i;
+        }
+        return new IndexedTree(xs, ys, n, edges);
+    }
+
+    /**
+     * Returns the minimum spanning tree of the given points.
+     */
+    public SteinerResult spanningTree(List<Point> points) {
+        SteinerResult result = new SteinerResult();
+        result.setTerminalPoints(points);
+
+        int n = points.size();
+        boolean[] inMST  = new boolean[n];
+        double[]  minDist = new double[n];
+        int[]     parent  = new int[n];
+
+        for (int i = 0; i < n; i++) { minDist[i] = Double.MAX_VALUE; parent[i] = -1; }
+        minDist[0] = 0;
+
+        for (int count = 0; count < n; count++) {
+            int u = -1; double minVal = Double.MAX_VALUE;
+            for (int i = 0; i < n; i++) {
+                if (!inMST[i] && minDist[i] < minVal) { minVal = minDist[i]; u = i; }
+            }
+            if (u == -1) break;
+            inMST[u] = true;
+
+            for (int v = 0; v < n; v++) {
+                if (!inMST[v]) {
+                    double d = points.get(u).distanceTo(points.get(v));
+                    if (d < minDist[v]) { minDist[v] = d; parent[v] = u; }
+                }
+            }
+        }
+
+        for (int i = 1; i < n; i++) {
+            if (parent[i] != -1)
+                result.addEdge(new Edge(points.get(parent[i]), points.get(i)));
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,213 @@
+package com.terra.numerica.steiner_tree_solver.solver;
+
+import com.terra.numerica.steiner_tree_solver.model.Point;
+import com.terra.numerica.steiner_tree_solver.model.SteinerResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Multilevel strategy for large, clustered inputs: coarsen the terminals, solve the coarsest
+ * level, then bring the Steiner points down and refine them level by level.
+ * <p>
+ * Each level contracts the spanning tree of the level below. Its edges are matched greedily from
+ * the shortest, and a point left unmatched joins the cluster of its nearest tree neighbour, so
+ * every level is at most half as large as the one below. A cluster is represented by the centroid
+ * of the terminals it contains, and the tree edges between clusters form the spanning tree of the
+ * next level. Tight groups of terminals therefore shrink to single points before any edge between
+ * groups is contracted. Coarsening stops at {@link #COARSEST_SIZE} points, which are solved with
+ * the {@link ExactSolver} or the {@link HeuristicSolver}.
+ * <p>
+ * On the way down, the points of the finer level are reconnected to the Steiner points of the
+ * coarser tree by the MST of both, computed over the Delaunay edges. Steiner points that end up
+ * with fewer than three edges are dropped and the MST computed once more. The Steiner points are
+ * then re-optimised for the finer level, and edges meeting at a terminal at less than 120°
+ * repaired with Fermat points, by {@link WarmStart#refine}. A level can only be refined once the
+ * level above is, so the parallelism is within levels, in the edge sorting of the coarsening.
+ * Levels at least halve in size, so memory stays linear in the number of terminals.
+ * <p>
+ * Should the final tree be longer than the MST of the terminals, the MST is returned instead.
+ */
+public class MultilevelSolver implements SteinerSolver {
+
+    public static final String NAME = "multilevel";
+
+    /** Largest level solved directly. */
+    static final int COARSEST_SIZE = 64;
+
+    /** Refinement rounds per level; a round re-optimises, then repairs collapses and shortcuts. */
+    private static final int REFINE_ROUNDS = 12;
+
+    private final ExactSolver exact = new ExactSolver();
+    private final HeuristicSolver heuristic = new HeuristicSolver();
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public int qualityRank() {
+        return 1;
+    }
+
+    @Override
+    public boolean supports(int n) {
+        return n >= 3;
+    }
+
+    @Override
+    public double complexityExponent() {
+        return 1.1;
+    }
+
+    @Override
+    public int calibrationSize() {
+        return 500;
+    }
+
+    @Override
+    public SteinerResult solve(List<Point> points, SolveOptions options) {
+        return solveIndexed(points, options).toResult(points);
+    }
+
+    /** Points of one level and the spanning tree over them. */
+    private static final class Level {
+        final double[] xs, ys;
+        /** Number of terminals each point stands for. */
+        final int[] weights;
+        /** Spanning tree edges as pairs of point indices. */
+        final int[] tree;
+
+        Level(double[] xs, double[] ys, int[] weights, int[] tree) {
+            this.xs = xs;
+            this.ys = ys;
+            this.weights = weights;
+            this.tree = tree;
+        }
+
+        int size() {
+            return xs.length;
+        }
+    }
+
+    @Override
+    public IndexedTree solveIndexed(List<Point> points, SolveOptions options) {
+        int n = points.size();
+        double[] xs = new double[n], ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = points.get(i).getX();
+            ys[i] = points.get(i).getY();
+        }
+        int[] weights = new int[n];
+        Arrays.fill(weights, 1);
+        int[] mst = DelaunaySolver.mstEdges(xs, ys);
+
+        List<Level> levels = new ArrayList<>();
+        levels.add(new Level(xs, ys, weights, mst));
+        while (levels.get(levels.size() - 1).size() > COARSEST_SIZE) {
+            options.throwIfCancelled();
+            levels.add(coarsen(levels.get(levels.size() - 1)));
+        }
+
+        // A target gap applies to the whole tree, not to the coarsest level
+        IndexedTree tree = solveCoarsest(levels.get(levels.size() - 1), options.withTargetGap(0));
+        for (int l = levels.size() - 2; l >= 0; l--) {
+            options.throwIfCancelled();
+            tree = WarmStart.refine(reconnect(levels.get(l), tree), REFINE_ROUNDS, options);
+        }
+
+        IndexedTree spanning = new IndexedTree(xs, ys, n, mst);
+        return tree.totalLength() <= spanning.totalLength() ? tree : spanning;
+    }
+
+    /** Builds the next level: one point per cluster, at the centroid of its terminals. */
+    private static Level coarsen(Level fine) {
+        int m = fine.size(), e = fine.tree.length / 2;
+        int[] tree = fine.tree;
+        double[] length = new double[e];
+        IntStream.range(0, e).parallel().forEach(i -> length[i] = Geometry.dist(
+            fine.xs[tree[2 * i]], fine.ys[tree[2 * i]], fine.xs[tree[2 * i + 1]], fine.ys[tree[2 * i + 1]]));
+        Integer[] order = new Integer[e];
+        for (int i = 0; i < e; i++) order[i] = i;
+        Arrays.parallelSort(order, Comparator.comparingDouble(i -> length[i]));
+
+        int[] cluster = new int[m];
+        Arrays.fill(cluster, -1);
+        int count = 0;
+        for (int i : order) {
+            int a = tree[2 * i], b = tree[2 * i + 1];
+            if (cluster[a] < 0 && cluster[b] < 0) cluster[a] = cluster[b] = count++;
+        }
+        // Every tree neighbour of an unmatched point is matched; the first edge met is the shortest
+        for (int i : order) {
+            int a = tree[2 * i], b = tree[2 * i + 1];
+            if (cluster[a] < 0) cluster[a] = cluster[b];
+            else if (cluster[b] < 0) cluster[b] = cluster[a];
+        }
+
+        double[] xs = new double[count], ys = new double[count];
+        int[] weights = new int[count];
+        for (int v = 0; v < m; v++) {
+            int c = cluster[v], w = fine.weights[v];
+            xs[c] += w * fine.xs[v];
+            ys[c] += w * fine.ys[v];
+            weights[c] += w;
+        }
+        for (int c = 0; c < count; c++) {
+            xs[c] /= weights[c];
+            ys[c] /= weights[c];
+        }
+
+        // Clusters are connected subtrees, so the edges between them form a tree
+        int[] coarseTree = new int[2 * (count - 1)];
+        int next = 0;
+        for (int i = 0; i < e; i++) {
+            int a = cluster[tree[2 * i]], b = cluster[tree[2 * i + 1]];
+            if (a == b) continue;
+            coarseTree[next++] = a;
+            coarseTree[next++] = b;
+        }
+        return new Level(xs, ys, weights, coarseTree);
+    }
+
+    private IndexedTree solveCoarsest(Level level, SolveOptions options) {
+        int m = level.size();
+        if (m < 3) return new IndexedTree(level.xs, level.ys, m, level.tree);
+        List<Point> points = new ArrayList<>(m);
+        for (int i = 0; i < m; i++) points.add(new Point(level.xs[i], level.ys[i]));
+        SteinerSolver solver = exact.supports(m) ? exact : heuristic;
+        return IndexedTree.fromResult(points, solver.solve(points, options));
+    }
+
+    /**
+     * Tree over the points of {@code fine} and the Steiner points of {@code coarse}: their MST,
+     * computed again without the Steiner points left with fewer than three edges. The few that
+     * this second MST leaves with fewer than three are merged or straightened by the refinement.
+     */
+    private static IndexedTree reconnect(Level fine, IndexedTree coarse) {
+        int m = fine.size(), clusters = coarse.terminalCount(), k = coarse.steinerCount();
+        double[] xs = Arrays.copyOf(fine.xs, m + k), ys = Arrays.copyOf(fine.ys, m + k);
+        for (int s = 0; s < k; s++) {
+            xs[m + s] = coarse.x(clusters + s);
+            ys[m + s] = coarse.y(clusters + s);
+        }
+        int[] edges = DelaunaySolver.mstEdges(xs, ys);
+
+        int[] degree = new int[m + k];
+        for (int v : edges) degree[v]++;
+        int kept = m;
+        for (int s = m; s < m + k; s++) {
+            if (degree[s] < 3) continue;
+            xs[kept] = xs[s];
+            ys[kept++] = ys[s];
+        }
+        if (kept == m + k) return new IndexedTree(xs, ys, m, edges);
+        xs = Arrays.copyOf(xs, kept);
+        ys = Arrays.copyOf(ys, kept);
+        return new IndexedTree(xs, ys, m, DelaunaySolver.mstEdges(xs, ys));
+    }
+}
@@ -0,0 +1,184 @@
+package com.terra.numerica.steiner_tree_solver.solver;
+
+import com.terra.numerica.steiner_tree_solver.model.Point;
+import com.terra.numerica.steiner_tree_solver.model.SteinerResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Divide-and-conquer strategy for large inputs.
+ * The MST is cut into connected subtrees of about {@link #LEAF_SIZE} terminals, each subtree is
+ * improved in parallel with the {@link HeuristicSolver}, and the MST edges between subtrees are
+ * kept as they are. Since a connected subtree of an MST is the MST of its own vertices, the
+ * result is never longer than the MST.
+ */
+public class PartitionedSolver implements SteinerSolver {
+
+    public static final String NAME = "partitioned";
+
+    static final int LEAF_SIZE = 64;
+
+    private final HeuristicSolver heuristic = new HeuristicSolver();
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public int qualityRank() {
+        return 1;
+    }
+
+    @Override
+    public boolean supports(int n) {
+        return n >= 2;
+    }
+
+    @Override
+    public double complexityExponent() {
+        return 2.0;
+    }
+
+    @Override
+    public int calibrationSize() {
+        return 500;
+    }
+
+    @Override
+    public SteinerResult solve(List<Point> points, SolveOptions options) {
+        return solveIndexed(points, options).toResult(points);
+    }
+
+    @Override
+    public IndexedTree solveIndexed(List<Point> points, SolveOptions options) {
+        int n = points.size();
+        double[] xs = new double[n], ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = points.get(i).getX();
+            ys[i] = points.get(i).getY();
+        }
+        int[] parent = Geometry.mstParents(xs, ys, n, options);
+        List<int[]> mstEdges = new ArrayList<>(n - 1);
+        for (int i = 1; i < n; i++) mstEdges.add(new int[]{parent[i], i});
+
+        int[] cluster = partition(n, mstEdges);
+        int clusterCount = 0;
+        for (int c : cluster) clusterCount = Math.max(clusterCount, c + 1);
+
+        List<List<Integer>> members = new ArrayList<>(clusterCount);
+        for (int c = 0; c < clusterCount; c++) members.add(new ArrayList<>());
+        for (int i = 0; i < n; i++) members.get(cluster[i]).add(i);
+
+        // A target gap applies to the whole tree, not to each cluster
+        SolveOptions clusterOptions = options.withTargetGap(0);
+        List<IndexedTree> parts = members.parallelStream()
+            .map(m -> solveCluster(points, m, clusterOptions))
+            .toList();
+
+        options.throwIfCancelled();
+        int steinerCount = 0, edgeCount = 0;
+        for (IndexedTree part : parts) {
+            steinerCount += part.steinerCount();
+            edgeCount += part.edgeCount();
+        }
+        for (int[] e : mstEdges) if (cluster[e[0]] != cluster[e[1]]) edgeCount++;
+
+        xs = Arrays.copyOf(xs, n + steinerCount);
+        ys = Arrays.copyOf(ys, n + steinerCount);
+        int[] edges = new int[2 * edgeCount];
+
+        int nextNode = n, nextEdge = 0;
+        for (int[] e : mstEdges) {
+            if (cluster[e[0]] != cluster[e[1]]) {
+                edges[nextEdge++] = e[0];
+                edges[nextEdge++] = e[1];
+            }
+        }
+        for (int c = 0; c < clusterCount; c++) {
+            IndexedTree part = parts.get(c);
+            List<Integer> m = members.get(c);
+            int[] global = new int[part.nodeCount()];
+            for (int i = 0; i < part.terminalCount(); i++) global[i] = m.get(i);
+            for (int i = part.terminalCount(); i < part.nodeCount(); i++) {
+                xs[nextNode] = part.x(i);
+                ys[nextNode] = part.y(i);
+                global[i] = nextNode++;
+            }
+            for (int e = 0; e < part.edgeCount(); e++) {
+                edges[nextEdge++] = global[part.edgeStart(e)];
+                edges[nextEdge++] = global[part.edgeEnd(e)];
+            }
+        }
+        return new IndexedTree(xs, ys, n, edges);
+    }
+
+    /** Improves the MST of one cluster with the heuristic; clusters of 1 or 2 points are kept as is. */
+    private IndexedTree solveCluster(List<Point> points, List<Integer> members, SolveOptions options) {
+        List<Point> local = new ArrayList<>(members.size());
+        for (int i : members) local.add(points.get(i));
+        if (local.size() < 3) {
+            double[] xs = new double[local.size()], ys = new double[local.size()];
+            for (int i = 0; i < local.size(); i++) {
+                xs[i] = local.get(i).getX();
+                ys[i] = local.get(i).getY();
+            }
+            return new IndexedTree(xs, ys, local.size(), local.size() == 2 ? new int[]{0, 1} : new int[0]);
+        }
+        return IndexedTree.fromResult(local, heuristic.solve(local, options));
+    }
+
+    /**
+     * Cuts the tree into connected clusters: in post-order, a vertex closes a cluster as soon as
+     * it has gathered at least {@link #LEAF_SIZE} not yet assigned descendants.
+     *
+     * @return the cluster index of each vertex
+     */
+    private int[] partition(int n, List<int[]> treeEdges) {
+        int[] parent = new int[n];
+        List<List<Integer>> children = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) children.add(new ArrayList<>());
+        parent[0] = -1;
+        for (int[] e : treeEdges) {
+            parent[e[1]] = e[0];
+            children.get(e[0]).add(e[1]);
+        }
+
+        int[] order = new int[n];
+        int head = 0, tail = 0;
+        order[tail++] = 0;
+        while (head < tail) {
+            for (int c : children.get(order[head++])) order[tail++] = c;
+        }
+
+        int[] pending = new int[n];
+        int[] cluster = new int[n];
+        Arrays.fill(cluster, -1);
+        int next = 0;
+        for (int k = tail - 1; k >= 0; k--) {
+            int v = order[k];
+            pending[v] += 1;
+            if (pending[v] >= LEAF_SIZE || parent[v] == -1) {
+                assign(v, next++, cluster, children);
+            } else {
+                pending[parent[v]] += pending[v];
+            }
+        }
+        return cluster;
+    }
+
+    /** Assigns {@code root} and its unassigned descendants to {@code id}. */
+    private void assign(int root, int id, int[] cluster, List<List<Integer>> children) {
+        List<Integer> stack = new ArrayList<>();
+        stack.add(root);
+        while (!stack.isEmpty()) {
+            int v = stack.remove(stack.size() - 1);
+            cluster[v] = id;
+            for (int c : children.get(v)) {
+                if (cluster[c] == -1) stack.add(c);
+            }
+        }
+    }
+}
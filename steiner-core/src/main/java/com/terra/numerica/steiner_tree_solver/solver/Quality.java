@@ -0,0 +1,24 @@
+package com.terra.numerica.steiner_tree_solver.solver;
+
+/**
+ * Quality level requested by the caller.
+ * Each level caps the {@link SteinerSolver#qualityRank()} the dispatcher may select.
+ */
+public enum Quality {
+    /** Minimum spanning tree only. */
+    FAST(0),
+    /** Steiner point insertion heuristics, no search. */
+    BALANCED(2),
+    /** Best strategy that fits in the deadline, exact when possible. */
+    OPTIMAL(Integer.MAX_VALUE);
+
+    private final int maxRank;
+
+    Quality(int maxRank) {
+        this.maxRank = maxRank;
+    }
+
+    public int maxRank() {
+        return maxRank;
+    }
+}
@@ -0,0 +1,11 @@
+package com.terra.numerica.steiner_tree_solver.solver;
+
+/**
+ * Thrown by a strategy that stopped because its {@link SolveOptions} were cancelled.
+ */
+public class SolveCancelledException extends RuntimeException {
+
+    public SolveCancelledException() {
+        super("Solve cancelled");
+    }
+}
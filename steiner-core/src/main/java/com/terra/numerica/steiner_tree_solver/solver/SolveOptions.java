@@ -0,0 +1,88 @@
+package com.terra.numerica.steiner_tree_solver.solver;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Per-request solving parameters. Instances are immutable; use the {@code with*} methods
+ * to derive modified copies.
+ */
+public final class SolveOptions {
+
+    /** Time budget applied when the caller does not provide one. */
+    public static final long DEFAULT_DEADLINE_MILLIS = 2_000;
+
+    private static final BooleanSupplier NEVER_CANCELLED = () -> false;
+
+    private final Quality quality;
+    private final long deadlineMillis;
+    private final BooleanSupplier cancellation;
+    private final double targetGap;
+
+    private SolveOptions(Quality quality, long deadlineMillis, BooleanSupplier cancellation, double targetGap) {
+        this.quality = quality;
+        this.deadlineMillis = deadlineMillis;
+        this.cancellation = cancellation;
+        this.targetGap = targetGap;
+    }
+
+    public static SolveOptions defaults() {
+        return new SolveOptions(Quality.OPTIMAL, DEFAULT_DEADLINE_MILLIS, NEVER_CANCELLED, 0);
+    }
+
+    public SolveOptions withQuality(Quality quality) {
+        return new SolveOptions(quality, deadlineMillis, cancellation, targetGap);
+    }
+
+    public SolveOptions withDeadlineMillis(long deadlineMillis) {
+        if (deadlineMillis <= 0) {
+            throw new IllegalArgumentException("Deadline must be positive");
+        }
+        return new SolveOptions(quality, deadlineMillis, cancellation, targetGap);
+    }
+
+    /**
+     * Returns options under which searches stop as soon as their best tree is within
+     * {@code targetGap} (relative, e.g. {@code 0.02} for 2%) of the {@link LowerBounds lower bound}.
+     * 0, the default, disables early termination.
+     */
+    public SolveOptions withTargetGap(double targetGap) {
+        if (!(targetGap >= 0) || Double.isInfinite(targetGap)) {
+            throw new IllegalArgumentException("Target gap must be a non-negative number");
+        }
+        return new SolveOptions(quality, deadlineMillis, cancellation, targetGap);
+    }
+
+    /**
+     * Returns options whose solve is abandoned as soon as {@code cancellation} returns
+     * {@code true}. Strategies poll it from their main loops and throw
+     * {@link SolveCancelledException}.
+     */
+    public SolveOptions withCancellation(BooleanSupplier cancellation) {
+        return new SolveOptions(quality, deadlineMillis, cancellation, targetGap);
+    }
+
+    public Quality getQuality() {
+        return quality;
+    }
+
+    public long getDeadlineMillis() {
+        return deadlineMillis;
+    }
+
+    public double getTargetGap() {
+        return targetGap;
+    }
+
+    public boolean isCancelled() {
+        return cancellation.getAsBoolean();
+    }
+
+    /**
+     * @throws SolveCancelledException if the caller has cancelled the solve
+     */
+    public void throwIfCancelled() {
+        if (cancellation.getAsBoolean()) {
+            throw new SolveCancelledException();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.terra.numerica.steiner_tree_solver.solver;
+
+import com.terra.numerica.steiner_tree_solver.model.Point;
+import com.terra.numerica.steiner_tree_solver.model.SteinerResult;
+
+import java.util.List;
+
+/**
+ * Selects a {@link SteinerSolver} for each request from the registered strategies.
+ * The highest quality strategy allowed by the requested {@link Quality} whose estimated
+ * running time fits in the deadline wins; ties go to the fastest. When nothing fits,
+ * the fastest allowed strategy is used.
+ */
+public class SolverDispatcher {
+
+    private final List<SteinerSolver> solvers;
+    private final CostModel costModel;
+
+    public SolverDispatcher(List<SteinerSolver> solvers, CostModel costModel) {
+        this.solvers = List.copyOf(solvers);
+        this.costModel = costModel;
+    }
+
+    /** Benchmarks every registered strategy to calibrate the cost model. */
+    public void calibrate() {
+        costModel.calibrate(solvers);
+    }
+
+    public List<SteinerSolver> getSolvers() {
+        return solvers;
+    }
+
+    /**
+     * Returns the strategy to use for {@code n} points under the given options.
+     *
+     * @throws IllegalStateException if no registered strategy supports {@code n} points
+     */
+    public SteinerSolver select(int n, SolveOptions options) {
+        int maxRank = options.getQuality().maxRank();
+        SteinerSolver best = null, fastest = null;
+        double bestCost = Double.MAX_VALUE, fastestCost = Double.MAX_VALUE;
+
+        for (SteinerSolver solver : solvers) {
+            if (!solver.supports(n) || solver.qualityRank() > maxRank) continue;
+            double cost = costModel.estimateMillis(solver, n);
+
+            if (cost < fastestCost) { fastest = solver; fastestCost = cost; }
+            if (cost > options.getDeadlineMillis()) continue;
+            if (best == null || solver.qualityRank() > best.qualityRank()
+                    || (solver.qualityRank() == best.qualityRank() && cost < bestCost)) {
+                best = solver;
+                bestCost = cost;
+            }
+        }
+
+        if (best != null) return best;
+        if (fastest != null) return fastest;
+        throw new IllegalStateException("No solver registered for " + n + " points");
+    }
+
+    /**
+     * Solves with the selected strategy and records its name, the {@link LowerBounds lower bound}
+     * and the resulting optimality gap in the result.
+     */
+    public SteinerResult solve(List<Point> points, SolveOptions options) {
+        options.throwIfCancelled();
+        SteinerSolver solver = select(points.size(), options);
+        SteinerResult result = solver.solve(points, options);
+        result.setStrategy(solver.name());
+        result.setLowerBound(lowerBound(solver, points, result.getTotalLength(), options));
+        result.setGap(LowerBounds.gap(result.getTotalLength(), result.getLowerBound()));
+        return result;
+    }
+
+    /**
+     * Primitive-output variant of {@link #solve}, used for streamed responses.
+     */
+    public IndexedTree solveIndexed(List<Point> points, SolveOptions options) {
+        options.throwIfCancelled();
+        SteinerSolver solver = select(points.size(), options);
+        IndexedTree tree = solver.solveIndexed(points, options);
+        tree.setStrategy(solver.name());
+        tree.setLowerBound(lowerBound(solver, points, tree.totalLength(), options));
+        return tree;
+    }
+
+    /**
+     * The exact strategy's length is its own bound, unless a target gap let it stop before the
+     * optimum; the MST strategy's length is the MST length. A bound above the length is rounding
+     * error.
+     */
+    private static double lowerBound(SteinerSolver solver, List<Point> points, double length, SolveOptions options) {
+        if (solver instanceof ExactSolver && options.getTargetGap() <= 0) return length;
+        double bound = solver instanceof MstSolver ? LowerBounds.of(points, length) : LowerBounds.of(points);
+        return Math.min(length, bound);
+    }
+}
@@ -0,0 +1,73 @@
+package com.terra.numerica.steiner_tree_solver.solver;
+
+import com.terra.numerica.steiner_tree_solver.model.Point;
+import com.terra.numerica.steiner_tree_solver.model.SteinerResult;
+
+import java.util.List;
+
+/**
+ * Strategy computing a (possibly approximate) Euclidean Steiner tree.
+ * Implementations are registered with the {@link SolverDispatcher}, which picks one
+ * per request from the {@link CostModel} and the caller's {@link SolveOptions}.
+ */
+public interface SteinerSolver {
+
+    /** Stable identifier recorded in {@link SteinerResult#getStrategy()}. */
+    String name();
+
+    /**
+     * Relative quality of the trees produced by this strategy: higher is shorter.
+     * The dispatcher never selects a strategy above {@link Quality#maxRank()}.
+     */
+    int qualityRank();
+
+    /** Returns {@code true} if this strategy can handle {@code n} terminal points. */
+    boolean supports(int n);
+
+    /**
+     * Exponent {@code e} of the running time model {@code t(n) = c · n^e};
+     * the constant {@code c} is calibrated at startup by the {@link CostModel}.
+     */
+    double complexityExponent();
+
+    /** Input size used to calibrate the cost model for this strategy. */
+    int calibrationSize();
+
+    /**
+     * Input size from which this strategy runs a second algorithm, modelled and calibrated
+     * separately with {@link #largeComplexityExponent()} and {@link #largeCalibrationSize()};
+     * 0, the default, when it has a single regime. {@link #calibrationSize()} is then below it
+     * and {@link #largeCalibrationSize()} at least it.
+     */
+    default int largeInputSize() {
+        return 0;
+    }
+
+    /** Exponent of the running time model from {@link #largeInputSize()} points on. */
+    default double largeComplexityExponent() {
+        return complexityExponent();
+    }
+
+    /** Input size used to calibrate the model from {@link #largeInputSize()} points on. */
+    default int largeCalibrationSize() {
+        return calibrationSize();
+    }
+
+    /**
+     * Computes the Steiner tree for the given terminal points.
+     *
+     * @param points  terminal points, at least 2
+     * @param options quality level and time budget of the request
+     * @return the computed tree
+     */
+    SteinerResult solve(List<Point> points, SolveOptions options);
+
+    /**
+     * Computes the tree in primitive form, for callers that serialise or post-process large
+     * results. The default implementation converts the result of {@link #solve}; strategies
+     * aimed at large inputs override it to avoid building the object graph at all.
+     */
+    default IndexedTree solveIndexed(List<Point> points, SolveOptions options) {
+        return IndexedTree.fromResult(points, solve(points, options));
+    }
+}
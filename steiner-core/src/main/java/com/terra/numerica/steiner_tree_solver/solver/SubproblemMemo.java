@@ -0,0 +1,112 @@
+package com.terra.numerica.steiner_tree_solver.solver;
+
+import com.terra.numerica.steiner_tree_solver.model.Point;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Sub-problems of the {@link ExactSolver} enumeration, solved once per request: the Fermat point
+ * of each terminal triple and the optimised Steiner points of each two-Steiner core, a quadruple
+ * of terminals split into two pairs.
+ * <p>
+ * Keys are the terminal coordinates in a canonical order (points sorted within a pair, pairs
+ * sorted), so a sub-problem is shared by every topology that contains it, whatever the order in
+ * which the enumeration names its terminals.
+ * <p>
+ * The memo also counts the {@link TopologyOptimizer} iterations spent on the request.
+ */
+final class SubproblemMemo {
+
+    /** Value of a sub-problem without solution: a collinear triple, or a core whose every start collapsed. */
+    private static final double[] NONE = new double[0];
+
+    private final Map<Key, double[]> fermatPoints = new HashMap<>();
+    private final Map<Key, double[]> cores = new HashMap<>();
+    private long optimizerIterations;
+
+    /** Terminal coordinates of a sub-problem, in canonical order. */
+    private static final class Key {
+        private final double[] coords;
+        private final int hash;
+
+        Key(double[] coords) {
+            this.coords = coords;
+            this.hash = Arrays.hashCode(coords);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key k && Arrays.equals(coords, k.coords);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Same as {@link Geometry#computeFermatPoint}: {@code a}, {@code b} or {@code c} itself when
+     * its angle is at least 120°, {@code null} when they are collinear.
+     */
+    Point fermatPoint(Point a, Point b, Point c) {
+        Point[] sorted = { a, b, c };
+        Arrays.sort(sorted, SubproblemMemo::compare);
+        double[] f = fermatPoints.computeIfAbsent(key(sorted), k -> {
+            Point fermat = Geometry.computeFermatPoint(sorted[0], sorted[1], sorted[2]);
+            if (fermat == null) return NONE;
+            for (int i = 0; i < 3; i++) if (fermat == sorted[i]) return new double[]{ i };
+            return new double[]{ fermat.getX(), fermat.getY() };
+        });
+        if (f == NONE) return null;
+        return f.length == 1 ? sorted[(int) f[0]] : new Point(f[0], f[1]);
+    }
+
+    /**
+     * Steiner points of the topology joining {@code a} and {@code b} to one Steiner point and
+     * {@code c} and {@code d} to the other, as computed by {@link ExactSolver#optimizeTwoSteiner}.
+     *
+     * @return {@code {x1, y1, x2, y2}} with the first point next to {@code a} and {@code b}, or
+     *         {@code null} if the topology collapsed from every start
+     */
+    double[] twoSteinerCore(Point a, Point b, Point c, Point d) {
+        Point[] first = compare(a, b) <= 0 ? new Point[]{ a, b } : new Point[]{ b, a };
+        Point[] second = compare(c, d) <= 0 ? new Point[]{ c, d } : new Point[]{ d, c };
+        int order = compare(first[0], second[0]);
+        boolean swapped = order > 0 || (order == 0 && compare(first[1], second[1]) > 0);
+        Point[] sorted = swapped
+            ? new Point[]{ second[0], second[1], first[0], first[1] }
+            : new Point[]{ first[0], first[1], second[0], second[1] };
+
+        double[] s = cores.computeIfAbsent(key(sorted), k -> {
+            double[] coords = ExactSolver.optimizeTwoSteiner(sorted[0], sorted[1], sorted[2], sorted[3], this);
+            return coords == null ? NONE : coords;
+        });
+        if (s == NONE) return null;
+        return swapped ? new double[]{ s[2], s[3], s[0], s[1] } : s.clone();
+    }
+
+    void countIterations(int iterations) {
+        optimizerIterations += iterations;
+    }
+
+    long optimizerIterations() {
+        return optimizerIterations;
+    }
+
+    private static Key key(Point[] points) {
+        double[] coords = new double[2 * points.length];
+        for (int i = 0; i < points.length; i++) {
+            coords[2 * i] = points[i].getX();
+            coords[2 * i + 1] = points[i].getY();
+        }
+        return new Key(coords);
+    }
+
+    private static int compare(Point p, Point q) {
+        int byX = Double.compare(p.getX(), q.getX());
+        return byX != 0 ? byX : Double.compare(p.getY(), q.getY());
+    }
+}
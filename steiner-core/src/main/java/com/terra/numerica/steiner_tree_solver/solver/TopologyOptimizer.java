@@ -0,0 +1,186 @@
+package com.terra.numerica.steiner_tree_solver.solver;
+
+import java.util.Arrays;
+
+/**
+ * Moves the Steiner points of a fixed tree topology to the positions minimising its length,
+ * with Smith's simultaneous iteration.
+ * <p>
+ * Each step fixes the Weiszfeld weights {@code 1 / |s - v|} at the current positions and solves
+ * the resulting linear system for every Steiner point at once. Because the Steiner points form a
+ * forest, the system is solved exactly in O(k) by eliminating from the leaves of that forest and
+ * substituting back from its roots. Unlike point-by-point Weiszfeld sweeps, a move at one end of a
+ * chain of Steiner points reaches the other end in a single step.
+ * <p>
+ * Iteration stops when no Steiner point moves by more than {@code tolerance} times the diameter
+ * of the terminals' bounding box, so the criterion does not depend on the coordinate scale. It also
+ * stops when an edge at a Steiner point shrinks below {@code sqrt(tolerance)} times that diameter:
+ * the topology is then degenerate, and the remaining approach to the optimum is sublinear.
+ */
+final class TopologyOptimizer {
+
+    static final double DEFAULT_TOLERANCE = 1e-9;
+    static final int DEFAULT_MAX_ITERATIONS = 10_000;
+
+    private static final double MAX_EXTRAPOLATION = 1024;
+
+    /** Final length of the tree, number of iterations run and how the iteration ended. */
+    static final class Result {
+        final double length;
+        final int iterations;
+        final boolean converged;
+        final boolean collapsed;
+
+        Result(double length, int iterations, boolean converged, boolean collapsed) {
+            this.length = length;
+            this.iterations = iterations;
+            this.converged = converged;
+            this.collapsed = collapsed;
+        }
+    }
+
+    private TopologyOptimizer() {}
+
+    static Result optimize(double[] xs, double[] ys, int terminalCount, int[] edges) {
+        return optimize(xs, ys, terminalCount, edges, DEFAULT_TOLERANCE, DEFAULT_MAX_ITERATIONS);
+    }
+
+    /**
+     * Optimises in place the coordinates of nodes {@code terminalCount..} of the tree given by
+     * {@code edges} (pairs of node indices); terminals are the first {@code terminalCount} nodes
+     * and do not move.
+     */
+    static Result optimize(double[] xs, double[] ys, int terminalCount, int[] edges,
+                           double tolerance, int maxIterations) {
+        int m = xs.length, n = terminalCount, k = m - n;
+        if (k == 0) return new Result(length(xs, ys, edges), 0, true, false);
+
+        // Adjacency in compressed rows
+        int[] start = new int[m + 1];
+        for (int v : edges) start[v + 1]++;
+        for (int i = 0; i < m; i++) start[i + 1] += start[i];
+        int[] adjacent = new int[edges.length], fill = Arrays.copyOf(start, m);
+        for (int e = 0; e < edges.length; e += 2) {
+            adjacent[fill[edges[e]]++] = edges[e + 1];
+            adjacent[fill[edges[e + 1]]++] = edges[e];
+        }
+
+        // Breadth-first order of the Steiner forest; parents come before their children
+        int[] order = new int[k], parent = new int[m];
+        Arrays.fill(parent, -1);
+        boolean[] seen = new boolean[k];
+        int size = 0;
+        for (int root = n; root < m; root++) {
+            if (seen[root - n]) continue;
+            seen[root - n] = true;
+            order[size++] = root;
+            for (int head = size - 1; head < size; head++) {
+                int s = order[head];
+                for (int j = start[s]; j < start[s + 1]; j++) {
+                    int v = adjacent[j];
+                    if (v < n || seen[v - n]) continue;
+                    seen[v - n] = true;
+                    parent[v] = s;
+                    order[size++] = v;
+                }
+            }
+        }
+
+        double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE;
+        double maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+        for (int i = 0; i < n; i++) {
+            minX = Math.min(minX, xs[i]); maxX = Math.max(maxX, xs[i]);
+            minY = Math.min(minY, ys[i]); maxY = Math.max(maxY, ys[i]);
+        }
+        double scale = n > 0 ? Geometry.dist(minX, minY, maxX, maxY) : 0;
+        if (scale == 0) scale = 1;
+        double floor = 1e-12 * scale, limit = tolerance * scale, shortest = Math.sqrt(tolerance) * scale;
+
+        // x_s = ax[s] + b[s] * x_parent(s) after elimination; sums gathered from the children
+        double[] ax = new double[k], ay = new double[k], b = new double[k];
+        double[] childX = new double[k], childY = new double[k], childB = new double[k];
+        double[] ox = new double[k], oy = new double[k], tx = new double[k], ty = new double[k];
+        double omega = 2;
+
+        for (int iteration = 1; iteration <= maxIterations; iteration++) {
+            boolean collapsed = false;
+            Arrays.fill(childX, 0);
+            Arrays.fill(childY, 0);
+            Arrays.fill(childB, 0);
+
+            for (int i = k - 1; i >= 0; i--) {
+                int s = order[i], p = parent[s], ls = s - n;
+                double total = 0, sx = 0, sy = 0, toParent = 0;
+                for (int j = start[s]; j < start[s + 1]; j++) {
+                    int v = adjacent[j];
+                    double d = Geometry.dist(xs[s], ys[s], xs[v], ys[v]);
+                    if (d < shortest) collapsed = true;
+                    double w = 1.0 / Math.max(d, floor);
+                    total += w;
+                    if (v < n) {
+                        sx += w * xs[v];
+                        sy += w * ys[v];
+                    } else if (v == p) {
+                        toParent = w;
+                    }
+                }
+                double denominator = total - childB[ls];
+                ax[ls] = (sx + childX[ls]) / denominator;
+                ay[ls] = (sy + childY[ls]) / denominator;
+                b[ls] = toParent / denominator;
+                if (p >= 0) {
+                    childX[p - n] += toParent * ax[ls];
+                    childY[p - n] += toParent * ay[ls];
+                    childB[p - n] += toParent * b[ls];
+                }
+            }
+
+            double moved = 0;
+            for (int i = 0; i < k; i++) {
+                int s = order[i], p = parent[s], ls = s - n;
+                double x = ax[ls], y = ay[ls];
+                if (p >= 0) {
+                    x += b[ls] * xs[p];
+                    y += b[ls] * ys[p];
+                }
+                moved = Math.max(moved, Geometry.dist(x, y, xs[s], ys[s]));
+                ox[ls] = xs[s];
+                oy[ls] = ys[s];
+                xs[s] = x;
+                ys[s] = y;
+            }
+            if (moved <= limit || collapsed) {
+                return new Result(length(xs, ys, edges), iteration, moved <= limit, collapsed);
+            }
+
+            // Extrapolate along the step while the tree keeps shrinking; fall back to the plain step
+            double plain = length(xs, ys, edges);
+            if (omega > 1) {
+                for (int s = n; s < m; s++) {
+                    tx[s - n] = xs[s];
+                    ty[s - n] = ys[s];
+                    xs[s] = ox[s - n] + omega * (xs[s] - ox[s - n]);
+                    ys[s] = oy[s - n] + omega * (ys[s] - oy[s - n]);
+                }
+                if (length(xs, ys, edges) < plain) {
+                    omega = Math.min(omega * 2, MAX_EXTRAPOLATION);
+                } else {
+                    System.arraycopy(tx, 0, xs, n, k);
+                    System.arraycopy(ty, 0, ys, n, k);
+                    omega = Math.max(omega / 4, 1);
+                }
+            } else {
+                omega = 2;
+            }
+        }
+        return new Result(length(xs, ys, edges), maxIterations, false, false);
+    }
+
+    private static double length(double[] xs, double[] ys, int[] edges) {
+        double total = 0;
+        for (int e = 0; e < edges.length; e += 2) {
+            total += Geometry.dist(xs[edges[e]], ys[edges[e]], xs[edges[e + 1]], ys[edges[e + 1]]);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,414 @@
+package com.terra.numerica.steiner_tree_solver.solver;
+
+import com.terra.numerica.steiner_tree_solver.model.Point;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Re-solves a tree whose terminals moved by keeping its topology: the previous Steiner points
+ * seed {@link TopologyOptimizer}, which moves them to the optimum for the new terminal positions.
+ * <p>
+ * Local changes of topology are repaired in place, since in a tree of many terminals one
+ * happens somewhere in almost every frame: a Steiner point whose edge to a terminal collapsed is
+ * merged into that terminal, two Steiner points collapsed onto each other swap neighbours, and
+ * where two edges now meet at a terminal at an angle clearly below 120° a Fermat point is
+ * inserted between them, as {@link HeuristicSolver} does. The topology is rejected, and the
+ * caller should solve from scratch, when a Steiner point does not have three edges meeting at
+ * 120° ({@link Geometry#checkAngles120}) or two edges meeting at 120° or more (heuristic trees
+ * keep such relay points), when collapses keep happening, or when after
+ * {@value #MAX_REPAIR_ROUNDS} rounds of repairs more pairs of edges meet at a terminal below 120°
+ * than in the previous tree.
+ * <p>
+ * The topology is also rejected when the deadline of the {@link SolveOptions} passes before it is
+ * repaired, and accepted without further repairs once the tree meets their target gap, if any.
+ * The number of {@link TopologyOptimizer} iterations each call took is logged at debug level.
+ */
+public final class WarmStart {
+
+    public static final String NAME = "warm-start";
+
+    private static final System.Logger LOG = System.getLogger(WarmStart.class.getName());
+
+    /**
+     * Relative tolerance of the re-optimisation. Finer than the exact solver's, because the
+     * collapse threshold ({@code sqrt(TOLERANCE)} times the diameter) must stay below the short
+     * Steiner edges that trees of many terminals legitimately have.
+     */
+    private static final double TOLERANCE = 1e-12;
+
+    /** Iteration cap for the re-optimisation; seeds are close to the optimum. */
+    private static final int MAX_ITERATIONS = 1000;
+
+    /** Rounds of shortcut repairs; collapse repairs are allowed a few more, one per 16 Steiner points. */
+    private static final int MAX_REPAIR_ROUNDS = 3;
+
+    /** Angles below 120° minus this tolerance count as shortcuts. */
+    private static final double ANGLE_TOLERANCE = Math.toRadians(10.0);
+
+    private WarmStart() {}
+
+    /**
+     * Returns the previous tree with its terminals at their new positions and its Steiner
+     * points re-optimised, or {@code null} if the topology is no longer valid.
+     *
+     * @param previous   tree of the previous frame
+     * @param points     terminals of the new frame
+     * @param previousOf for each new terminal, its index among the previous tree's terminals
+     * @param options    deadline, cancellation and target gap of the solve
+     * @throws SolveCancelledException if the caller cancels the solve
+     */
+    public static IndexedTree reoptimize(IndexedTree previous, List<Point> points, int[] previousOf,
+                                         SolveOptions options) {
+        int n = points.size(), k = previous.steinerCount();
+        if (previous.terminalCount() != n) return null;
+        long deadline = System.nanoTime() + options.getDeadlineMillis() * 1_000_000L;
+        double target = LowerBounds.targetLength(points, options, true);
+
+        int[] newOf = new int[n];
+        for (int i = 0; i < n; i++) newOf[previousOf[i]] = i;
+
+        double[] xs = new double[n + k], ys = new double[n + k];
+        for (int i = 0; i < n; i++) {
+            xs[i] = points.get(i).getX();
+            ys[i] = points.get(i).getY();
+        }
+        for (int s = 0; s < k; s++) {
+            xs[n + s] = previous.x(n + s);
+            ys[n + s] = previous.y(n + s);
+        }
+        int[] edges = new int[2 * previous.edgeCount()];
+        for (int e = 0; e < previous.edgeCount(); e++) {
+            int a = previous.edgeStart(e), b = previous.edgeEnd(e);
+            edges[2 * e] = a < n ? newOf[a] : a;
+            edges[2 * e + 1] = b < n ? newOf[b] : b;
+        }
+
+        int allowed = shortcuts(previous).size();
+        double collapse = Math.sqrt(TOLERANCE) * diameter(xs, ys, n);
+        // The optimiser stops at the first collapse, so each one costs a restart
+        int collapses = 0, rounds = 0, maxCollapses = MAX_REPAIR_ROUNDS + k / 16;
+        long iterations = 0;
+        while (true) {
+            options.throwIfCancelled();
+            if (System.nanoTime() > deadline) return rejected(n, iterations);
+            TopologyOptimizer.Result optimized = TopologyOptimizer.optimize(xs, ys, n, edges, TOLERANCE, MAX_ITERATIONS);
+            iterations += optimized.iterations;
+            IndexedTree tree = new IndexedTree(xs, ys, n, edges);
+            if (optimized.collapsed) {
+                if (++collapses > maxCollapses) return rejected(n, iterations);
+                tree = repairCollapsed(tree, collapse);
+            } else {
+                if (!steinerAnglesValid(tree)) return rejected(n, iterations);
+                List<int[]> shortcuts = shortcuts(tree);
+                if (shortcuts.size() <= allowed || tree.totalLength() <= target) {
+                    tree.setStrategy(NAME);
+                    logIterations("kept the topology of", n, iterations);
+                    return tree;
+                }
+                if (++rounds > MAX_REPAIR_ROUNDS) return rejected(n, iterations);
+                tree = repairShortcuts(tree, shortcuts);
+            }
+            xs = copyX(tree);
+            ys = copyY(tree);
+            edges = copyEdges(tree);
+        }
+    }
+
+    private static IndexedTree rejected(int terminals, long iterations) {
+        logIterations("rejected the topology of", terminals, iterations);
+        return null;
+    }
+
+    private static void logIterations(String outcome, int terminals, long iterations) {
+        LOG.log(System.Logger.Level.DEBUG, () -> "Warm start " + outcome + " " + terminals
+            + " terminals after " + iterations + " optimiser iterations");
+    }
+
+    /**
+     * Re-optimises the Steiner points of {@code tree} with the same repairs as
+     * {@link #reoptimize}, but never gives up: once nothing is left to repair, or after
+     * {@code rounds} rounds, the current tree is returned as it is.
+     */
+    static IndexedTree refine(IndexedTree tree, int rounds, SolveOptions options) {
+        int n = tree.terminalCount();
+        double[] xs = copyX(tree), ys = copyY(tree);
+        int[] edges = copyEdges(tree);
+        double collapse = Math.sqrt(TOLERANCE) * diameter(xs, ys, n);
+        long iterations = 0;
+        for (int round = 0; round < rounds; round++) {
+            options.throwIfCancelled();
+            TopologyOptimizer.Result optimized = TopologyOptimizer.optimize(xs, ys, n, edges, TOLERANCE, MAX_ITERATIONS);
+            iterations += optimized.iterations;
+            tree = new IndexedTree(xs, ys, n, edges);
+            // Shortcuts are repaired in the same round as collapses, at the positions reached
+            if (optimized.collapsed) tree = repairCollapsed(tree, collapse);
+            List<int[]> shortcuts = shortcuts(tree);
+            if (!shortcuts.isEmpty()) tree = repairShortcuts(tree, shortcuts);
+            else if (!optimized.collapsed) break;
+            xs = copyX(tree);
+            ys = copyY(tree);
+            edges = copyEdges(tree);
+        }
+        logIterations("refined", n, iterations);
+        return tree;
+    }
+
+    /**
+     * Repairs the edges at Steiner points shorter than {@code collapse}. A Steiner point collapsed
+     * onto a terminal is merged into it. Two Steiner points collapsed onto each other are joined
+     * to their four other neighbours in the other pairing with the shorter pairs, and moved apart
+     * towards their new pairs, or merged if either does not have three edges.
+     */
+    private static IndexedTree repairCollapsed(IndexedTree tree, double collapse) {
+        int n = tree.terminalCount(), m = tree.nodeCount();
+        double[] xs = copyX(tree), ys = copyY(tree);
+        int[] edges = copyEdges(tree);
+        int[][] incident = incidence(m, edges);
+        int[] into = new int[m];
+        boolean[] repaired = new boolean[m];
+        for (int v = 0; v < m; v++) into[v] = v;
+
+        for (int e = 0; e < tree.edgeCount(); e++) {
+            int a = tree.edgeStart(e), b = tree.edgeEnd(e);
+            if (a < n && b < n || tree.edgeLength(e) >= collapse) continue;
+            // Chains of collapses are repaired one edge at a time, over several rounds
+            if (repaired[a] || repaired[b]) continue;
+            repaired[a] = repaired[b] = true;
+            if (a < n || b < n) {
+                into[a >= n ? a : b] = a >= n ? b : a;
+            } else if (!swapPairs(a, b, incident, xs, ys, edges)) {
+                into[b] = a;
+            }
+        }
+
+        // Merged Steiner points are dropped; the others keep their order after the terminals
+        int[] index = new int[m];
+        int size = n;
+        for (int v = 0; v < m; v++) index[v] = v < n ? v : (into[v] == v ? size++ : -1);
+        double[] nx = new double[size], ny = new double[size];
+        for (int v = 0; v < m; v++) {
+            if (index[v] < 0) continue;
+            nx[index[v]] = xs[v];
+            ny[index[v]] = ys[v];
+        }
+        int count = 0;
+        for (int e = 0; e < edges.length; e += 2) {
+            int a = index[into[edges[e]]], b = index[into[edges[e + 1]]];
+            if (a == b) continue;
+            edges[count++] = a;
+            edges[count++] = b;
+        }
+        return new IndexedTree(nx, ny, n, Arrays.copyOf(edges, count));
+    }
+
+    /**
+     * Re-pairs the neighbours of the adjacent Steiner points {@code s} and {@code t}, in place,
+     * {@code incident} included.
+     *
+     * @return {@code false} if either does not have three edges
+     */
+    private static boolean swapPairs(int s, int t, int[][] incident, double[] xs, double[] ys, int[] edges) {
+        if (incident[s].length != 3 || incident[t].length != 3) return false;
+        int[] es = others(incident[s], s, t, edges), et = others(incident[t], t, s, edges);
+        int[] a = { opposite(edges, es[0], s), opposite(edges, es[1], s) };
+        int[] b = { opposite(edges, et[0], t), opposite(edges, et[1], t) };
+
+        // Keep a[0] at s and take b[0] or b[1] from t, whichever gives the shorter pairs
+        double keep0 = Geometry.dist(xs[a[0]], ys[a[0]], xs[b[0]], ys[b[0]]) + Geometry.dist(xs[a[1]], ys[a[1]], xs[b[1]], ys[b[1]]);
+        double keep1 = Geometry.dist(xs[a[0]], ys[a[0]], xs[b[1]], ys[b[1]]) + Geometry.dist(xs[a[1]], ys[a[1]], xs[b[0]], ys[b[0]]);
+        int moved = keep0 <= keep1 ? 0 : 1;
+        int toS = b[moved], toT = a[1], edgeToS = et[moved], edgeToT = es[1];
+        move(edges, edgeToS, t, s);
+        move(edges, edgeToT, s, t);
+        replace(incident[s], edgeToT, edgeToS);
+        replace(incident[t], edgeToS, edgeToT);
+
+        double mx = (xs[s] + xs[t]) / 2, my = (ys[s] + ys[t]) / 2;
+        int[] pairS = { a[0], toS }, pairT = { b[1 - moved], toT };
+        xs[s] = (3 * mx + (xs[pairS[0]] + xs[pairS[1]]) / 2) / 4;
+        ys[s] = (3 * my + (ys[pairS[0]] + ys[pairS[1]]) / 2) / 4;
+        xs[t] = (3 * mx + (xs[pairT[0]] + xs[pairT[1]]) / 2) / 4;
+        ys[t] = (3 * my + (ys[pairT[0]] + ys[pairT[1]]) / 2) / 4;
+        return true;
+    }
+
+    /** Edges of {@code incident} at {@code v} except the one to {@code excluded}. */
+    private static int[] others(int[] incident, int v, int excluded, int[] edges) {
+        int[] others = new int[incident.length - 1];
+        int i = 0;
+        for (int e : incident) if (opposite(edges, e, v) != excluded) others[i++] = e;
+        return others;
+    }
+
+    private static int opposite(int[] edges, int e, int v) {
+        return edges[2 * e] == v ? edges[2 * e + 1] : edges[2 * e];
+    }
+
+    /** Moves the {@code from} end of edge {@code e} to {@code to}. */
+    private static void move(int[] edges, int e, int from, int to) {
+        if (edges[2 * e] == from) edges[2 * e] = to;
+        else edges[2 * e + 1] = to;
+    }
+
+    private static void replace(int[] values, int from, int to) {
+        for (int i = 0; i < values.length; i++) if (values[i] == from) values[i] = to;
+    }
+
+    /**
+     * Removes shortcuts at terminals, at most one per terminal and round. When the Fermat point of
+     * the terminal {@code t} and its neighbours {@code a}, {@code b} lies strictly inside their
+     * triangle, it replaces edges {@code t-a} and {@code t-b} as a new Steiner point. When it is
+     * a terminal neighbour, say {@code a}, the angle at {@code a} is at least 120° and edge
+     * {@code t-b} is replaced by the shorter {@code a-b}.
+     */
+    private static IndexedTree repairShortcuts(IndexedTree tree, List<int[]> shortcuts) {
+        int n = tree.terminalCount(), m = tree.nodeCount();
+        int[] edges = copyEdges(tree);
+        // Only edges at untouched nodes are looked up, and those are never moved
+        int[][] incident = incidence(m, edges);
+        boolean[] touched = new boolean[m];
+        List<int[]> inserted = new ArrayList<>();
+        List<double[]> fermat = new ArrayList<>();
+        for (int[] shortcut : shortcuts) {
+            int t = shortcut[0], a = shortcut[1], b = shortcut[2];
+            if (touched[t] || touched[a] || touched[b]) continue;
+            double[] pa = { tree.x(a), tree.y(a) }, pt = { tree.x(t), tree.y(t) }, pb = { tree.x(b), tree.y(b) };
+            double[] f = Geometry.fermat2D(pa, pt, pb);
+            if (f == null || Geometry.distXY(f, pt) == 0) continue;
+            if (Geometry.distXY(f, pa) == 0 || Geometry.distXY(f, pb) == 0) {
+                int hub = Geometry.distXY(f, pa) == 0 ? a : b, other = hub == a ? b : a;
+                if (hub >= n) continue;
+                move(edges, edgeBetween(incident, edges, t, other), t, hub);
+            } else {
+                inserted.add(new int[]{ t, a, b, edgeBetween(incident, edges, t, a), edgeBetween(incident, edges, t, b) });
+                fermat.add(f);
+            }
+            touched[t] = touched[a] = touched[b] = true;
+        }
+
+        int k = fermat.size();
+        double[] xs = Arrays.copyOf(copyX(tree), m + k), ys = Arrays.copyOf(copyY(tree), m + k);
+        edges = Arrays.copyOf(edges, edges.length + 2 * k);
+        int count = 2 * tree.edgeCount();
+        for (int i = 0; i < k; i++) {
+            int[] repair = inserted.get(i);
+            int t = repair[0], f = m + i;
+            xs[f] = fermat.get(i)[0];
+            ys[f] = fermat.get(i)[1];
+            move(edges, repair[3], t, f);
+            move(edges, repair[4], t, f);
+            edges[count++] = f;
+            edges[count++] = t;
+        }
+        return new IndexedTree(xs, ys, n, edges);
+    }
+
+    private static int edgeBetween(int[][] incident, int[] edges, int u, int v) {
+        for (int e : incident[u]) if (opposite(edges, e, u) == v) return e;
+        throw new IllegalStateException("No edge between " + u + " and " + v);
+    }
+
+    private static boolean steinerAnglesValid(IndexedTree tree) {
+        int[][] adjacent = adjacency(tree);
+        double limit = Math.toRadians(120.0) - ANGLE_TOLERANCE;
+        for (int s = tree.terminalCount(); s < tree.nodeCount(); s++) {
+            int[] nbrs = adjacent[s];
+            boolean valid = switch (nbrs.length) {
+                case 2 -> Geometry.calculateAngle(point(tree, nbrs[0]), point(tree, s), point(tree, nbrs[1])) >= limit;
+                case 3 -> Geometry.checkAngles120(point(tree, s), point(tree, nbrs[0]),
+                                                  point(tree, nbrs[1]), point(tree, nbrs[2]));
+                default -> false;
+            };
+            if (!valid) return false;
+        }
+        return true;
+    }
+
+    /** Edge pairs meeting at a terminal at an angle clearly below 120°, as {terminal, a, b}. */
+    private static List<int[]> shortcuts(IndexedTree tree) {
+        int[][] adjacent = adjacency(tree);
+        double limit = Math.toRadians(120.0) - ANGLE_TOLERANCE;
+        List<int[]> shortcuts = new ArrayList<>();
+        for (int t = 0; t < tree.terminalCount(); t++) {
+            int[] nbrs = adjacent[t];
+            for (int i = 0; i < nbrs.length; i++) {
+                for (int j = i + 1; j < nbrs.length; j++) {
+                    if (Geometry.calculateAngle(point(tree, nbrs[i]), point(tree, t), point(tree, nbrs[j])) < limit) {
+                        shortcuts.add(new int[]{ t, nbrs[i], nbrs[j] });
+                    }
+                }
+            }
+        }
+        return shortcuts;
+    }
+
+    private static int[][] adjacency(IndexedTree tree) {
+        int m = tree.nodeCount();
+        int[] degree = new int[m];
+        for (int e = 0; e < tree.edgeCount(); e++) {
+            degree[tree.edgeStart(e)]++;
+            degree[tree.edgeEnd(e)]++;
+        }
+        int[][] adjacent = new int[m][];
+        for (int v = 0; v < m; v++) adjacent[v] = new int[degree[v]];
+        int[] fill = new int[m];
+        for (int e = 0; e < tree.edgeCount(); e++) {
+            int a = tree.edgeStart(e), b = tree.edgeEnd(e);
+            adjacent[a][fill[a]++] = b;
+            adjacent[b][fill[b]++] = a;
+        }
+        return adjacent;
+    }
+
+    /** Indices of the edges at each node. */
+    private static int[][] incidence(int nodeCount, int[] edges) {
+        int[] degree = new int[nodeCount];
+        for (int v : edges) degree[v]++;
+        int[][] incident = new int[nodeCount][];
+        for (int v = 0; v < nodeCount; v++) incident[v] = new int[degree[v]];
+        int[] fill = new int[nodeCount];
+        for (int e = 0; e < edges.length / 2; e++) {
+            incident[edges[2 * e]][fill[edges[2 * e]]++] = e;
+            incident[edges[2 * e + 1]][fill[edges[2 * e + 1]]++] = e;
+        }
+        return incident;
+    }
+
+    private static double diameter(double[] xs, double[] ys, int n) {
+        double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE;
+        double maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+        for (int i = 0; i < n; i++) {
+            minX = Math.min(minX, xs[i]); maxX = Math.max(maxX, xs[i]);
+            minY = Math.min(minY, ys[i]); maxY = Math.max(maxY, ys[i]);
+        }
+        double scale = Geometry.dist(minX, minY, maxX, maxY);
+        return scale == 0 ? 1 : scale;
+    }
+
+    private static double[] copyX(IndexedTree tree) {
+        double[] xs = new double[tree.nodeCount()];
+        for (int v = 0; v < xs.length; v++) xs[v] = tree.x(v);
+        return xs;
+    }
+
+    private static double[] copyY(IndexedTree tree) {
+        double[] ys = new double[tree.nodeCount()];
+        for (int v = 0; v < ys.length; v++) ys[v] = tree.y(v);
+        return ys;
+    }
+
+    private static int[] copyEdges(IndexedTree tree) {
+        int[] edges = new int[2 * tree.edgeCount()];
+        for (int e = 0; e < tree.edgeCount(); e++) {
+            edges[2 * e] = tree.edgeStart(e);
+            edges[2 * e + 1] = tree.edgeEnd(e);
+        }
+        return edges;
+    }
+
+    private static Point point(IndexedTree tree, int node) {
+        return new Point(tree.x(node), tree.y(node));
+    }
+}
@@ -0,0 +1,61 @@
+package com.terra.numerica.steiner_tree_solver.cli;
+
+import com.terra.numerica.steiner_tree_solver.solver.SolveOptions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchSolverTest {
+
+    private static final int INSTANCES = 8;
+
+    @Test
+    void parallelWorkersAnnealIndependentlyOfEachOther(@TempDir Path dir) throws Exception {
+        Path input = Files.createDirectory(dir.resolve("in"));
+        for (int i = 0; i < INSTANCES; i++) {
+            writeRandom(input.resolve("random" + i + ".txt"), 100 + i, 60);
+        }
+        // a budget no annealing chain reaches, so that the trees do not depend on timing; the
+        // cancellation check records which threads run the chains
+        Set<String> solvingThreads = ConcurrentHashMap.newKeySet();
+        SolveOptions options = SolveOptions.defaults().withDeadlineMillis(60_000).withCancellation(() -> {
+            solvingThreads.add(Thread.currentThread().getName());
+            return false;
+        });
+
+        assertEquals(0, BatchSolver.run(input, dir.resolve("sequential"), options, 1, false));
+        assertEquals(0, BatchSolver.run(input, dir.resolve("parallel"), options, 4, false));
+
+        for (int i = 0; i < INSTANCES; i++) {
+            String name = "random" + i + ".tree";
+            String sequential = Files.readString(dir.resolve("sequential").resolve(name));
+            String parallel = Files.readString(dir.resolve("parallel").resolve(name));
+            assertTrue(parallel.startsWith("# strategy=annealing "), () -> name + ": " + parallel.lines().findFirst());
+            assertEquals(sequential, parallel, name);
+        }
+        assertTrue(solvingThreads.size() > 1, solvingThreads::toString);
+        assertFalse(solvingThreads.stream().anyMatch(t -> t.startsWith("steiner-annealing-")),
+            () -> "chains queued on a shared pool: " + solvingThreads);
+    }
+
+    private static void writeRandom(Path file, long seed, int n) throws IOException {
+        Random random = new Random(seed);
+        try (BufferedWriter out = Files.newBufferedWriter(file)) {
+            for (int i = 0; i < n; i++) {
+                out.write(String.format(Locale.ROOT, "%.6f %.6f%n", random.nextDouble() * 1000, random.nextDouble() * 1000));
+            }
+        }
+    }
+}
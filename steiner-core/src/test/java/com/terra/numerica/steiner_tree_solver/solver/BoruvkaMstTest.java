@@ -0,0 +1,120 @@
+package com.terra.numerica.steiner_tree_solver.solver;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BoruvkaMstTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 2, 4 })
+    void clustered(int threads) {
+        // Cluster spreads over four orders of magnitude and a sparse background, so that points
+        // whose neighbours all lie in their own component are common
+        Random random = new Random(11);
+        int n = 4000;
+        double[] xs = new double[n], ys = new double[n];
+        double[][] clusters = new double[30][];
+        for (int c = 0; c < clusters.length; c++) {
+            clusters[c] = new double[]{ random.nextDouble() * 1e4, random.nextDouble() * 1e4,
+                                        Math.pow(10, random.nextDouble() * 4 - 1.5) };
+        }
+        for (int i = 0; i < n; i++) {
+            if (i % 50 == 0) {
+                xs[i] = random.nextDouble() * 1e4;
+                ys[i] = random.nextDouble() * 1e4;
+                continue;
+            }
+            double[] c = clusters[random.nextInt(clusters.length)];
+            xs[i] = c[0] + random.nextGaussian() * c[2];
+            ys[i] = c[1] + random.nextGaussian() * c[2];
+        }
+        assertSameAsPrim(xs, ys, threads);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 2, 4 })
+    void gridWithDuplicates(int threads) {
+        Random random = new Random(12);
+        int side = 60, n = side * side + 1500;
+        double[] xs = new double[n], ys = new double[n];
+        for (int i = 0; i < side * side; i++) {
+            xs[i] = i % side;
+            ys[i] = i / side;
+        }
+        for (int i = side * side; i < n; i++) {
+            int copy = random.nextInt(side * side);
+            xs[i] = xs[copy];
+            ys[i] = ys[copy];
+        }
+        assertSameAsPrim(xs, ys, threads);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 2, 4 })
+    void collinear(int threads) {
+        Random random = new Random(13);
+        int n = 4000;
+        double[] xs = new double[n], ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            double t = i % 10 == 0 && i > 0 ? xs[i - 1] : random.nextDouble() * 1000;
+            xs[i] = t;
+            ys[i] = 0.5 * t + 3;
+        }
+        assertSameAsPrim(xs, ys, threads);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 2, 4 })
+    void justAboveTheParallelThreshold(int threads) {
+        Random random = new Random(14);
+        int n = MstSolver.PARALLEL_MIN_POINTS + 1;
+        double[] xs = new double[n], ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = random.nextDouble();
+            ys[i] = random.nextDouble();
+        }
+        assertSameAsPrim(xs, ys, threads);
+    }
+
+    /** Same total length as Prim's tree, with n - 1 edges joining every point. */
+    private static void assertSameAsPrim(double[] xs, double[] ys, int threads) {
+        int n = xs.length;
+        int[] edges;
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            edges = BoruvkaMst.edges(xs, ys, pool, SolveOptions.defaults());
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(2 * (n - 1), edges.length);
+        int[] parent = new int[n];
+        for (int v = 0; v < n; v++) parent[v] = v;
+        int components = n;
+        double length = 0;
+        for (int e = 0; e < edges.length; e += 2) {
+            int a = find(parent, edges[e]), b = find(parent, edges[e + 1]);
+            if (a != b) {
+                parent[a] = b;
+                components--;
+            }
+            length += Geometry.dist(xs[edges[e]], ys[edges[e]], xs[edges[e + 1]], ys[edges[e + 1]]);
+        }
+        assertEquals(1, components);
+
+        int[] prim = Geometry.mstParents(xs, ys, n);
+        double expected = 0;
+        for (int i = 1; i < n; i++) expected += Geometry.dist(xs[i], ys[i], xs[prim[i]], ys[prim[i]]);
+        assertEquals(expected, length, 1e-9 * expected);
+    }
+
+    private static int find(int[] parent, int v) {
+        while (parent[v] != v) v = parent[v] = parent[parent[v]];
+        return v;
+    }
+}
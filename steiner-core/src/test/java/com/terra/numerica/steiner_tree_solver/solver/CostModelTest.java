@@ -0,0 +1,21 @@
+package com.terra.numerica.steiner_tree_solver.solver;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CostModelTest {
+
+    @Test
+    void parallelMstIsModelledAsPrimBelowTheSwitchAndBoruvkaAbove() {
+        MstSolver mst = new MstSolver(2);
+        CostModel model = new CostModel();
+        model.calibrate(List.of(mst));
+
+        int small = MstSolver.PARALLEL_MIN_POINTS / 4, large = 2 * MstSolver.PARALLEL_MIN_POINTS;
+        assertEquals(4.0, model.estimateMillis(mst, 2 * small) / model.estimateMillis(mst, small), 1e-9);
+        assertEquals(Math.pow(2, 1.1), model.estimateMillis(mst, 2 * large) / model.estimateMillis(mst, large), 1e-9);
+    }
+}
@@ -0,0 +1,65 @@
+package com.terra.numerica.steiner_tree_solver.solver;
+
+import com.terra.numerica.steiner_tree_solver.model.Point;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MetaheuristicSolverTest {
+
+    // a budget no chain reaches, so that every chain runs to the end
+    private static final SolveOptions OPTIONS = SolveOptions.defaults().withDeadlineMillis(60_000);
+
+    @Test
+    void concurrentSolvesSharingThePoolGiveTheirSequentialResults() throws Exception {
+        List<List<Point>> instances = new ArrayList<>();
+        for (int i = 0; i < 4; i++) instances.add(random(200 + i, 40));
+
+        try (MetaheuristicSolver solver = new MetaheuristicSolver(3, 42L)) {
+            double[] sequential = new double[instances.size()];
+            for (int i = 0; i < instances.size(); i++) {
+                sequential[i] = solver.solve(instances.get(i), OPTIONS).getTotalLength();
+            }
+
+            ExecutorService callers = Executors.newFixedThreadPool(instances.size());
+            try {
+                List<Future<Double>> concurrent = new ArrayList<>();
+                for (List<Point> points : instances) {
+                    concurrent.add(callers.submit(() -> solver.solve(points, OPTIONS).getTotalLength()));
+                }
+                for (int i = 0; i < instances.size(); i++) {
+                    assertEquals(sequential[i], concurrent.get(i).get(), "instance " + i);
+                }
+            } finally {
+                callers.shutdownNow();
+            }
+        }
+    }
+
+    @Test
+    void closedSolverRunsEveryChainOnTheCaller() {
+        List<Point> points = random(300, 40);
+        double open;
+        try (MetaheuristicSolver solver = new MetaheuristicSolver(3, 42L)) {
+            open = solver.solve(points, OPTIONS).getTotalLength();
+        }
+
+        MetaheuristicSolver closed = new MetaheuristicSolver(3, 42L);
+        closed.close();
+        assertEquals(open, closed.solve(points, OPTIONS).getTotalLength());
+    }
+
+    private static List<Point> random(long seed, int n) {
+        Random random = new Random(seed);
+        List<Point> points = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) points.add(new Point(random.nextDouble() * 1000, random.nextDouble() * 1000));
+        return points;
+    }
+}
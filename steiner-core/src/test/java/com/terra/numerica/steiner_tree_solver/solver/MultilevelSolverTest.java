@@ -0,0 +1,68 @@
+package com.terra.numerica.steiner_tree_solver.solver;
+
+import com.terra.numerica.steiner_tree_solver.model.Point;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MultilevelSolverTest {
+
+    @Test
+    void clusteredInputGivesASpanningTreeOverEveryTerminal() {
+        List<Point> points = clustered(7, 600, 12);
+        IndexedTree tree = new MultilevelSolver().solveIndexed(points, SolveOptions.defaults());
+
+        int n = points.size(), m = tree.nodeCount();
+        assertEquals(n, tree.terminalCount());
+        for (int i = 0; i < n; i++) {
+            assertEquals(points.get(i).getX(), tree.x(i));
+            assertEquals(points.get(i).getY(), tree.y(i));
+        }
+
+        // m - 1 edges joining all m nodes form a tree
+        assertEquals(m - 1, tree.edgeCount());
+        int[] parent = new int[m], degree = new int[m];
+        for (int v = 0; v < m; v++) parent[v] = v;
+        int components = m;
+        for (int e = 0; e < tree.edgeCount(); e++) {
+            int a = find(parent, tree.edgeStart(e)), b = find(parent, tree.edgeEnd(e));
+            degree[tree.edgeStart(e)]++;
+            degree[tree.edgeEnd(e)]++;
+            if (a != b) {
+                parent[a] = b;
+                components--;
+            }
+        }
+        assertEquals(1, components);
+        for (int s = n; s < m; s++) {
+            int node = s;
+            assertTrue(degree[s] >= 2, () -> "Steiner point " + node + " is a leaf");
+        }
+
+        double mst = new MstSolver().solve(points, SolveOptions.defaults()).getTotalLength();
+        assertTrue(tree.steinerCount() > 0);
+        assertTrue(tree.totalLength() < mst, () -> "length " + tree.totalLength() + " not below the MST " + mst);
+    }
+
+    private static int find(int[] parent, int v) {
+        while (parent[v] != v) v = parent[v] = parent[parent[v]];
+        return v;
+    }
+
+    private static List<Point> clustered(long seed, int n, int clusters) {
+        Random random = new Random(seed);
+        double[][] centres = new double[clusters][];
+        for (int c = 0; c < clusters; c++) centres[c] = new double[]{ random.nextDouble() * 1000, random.nextDouble() * 1000 };
+        List<Point> points = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            double[] c = centres[i % clusters];
+            points.add(new Point(c[0] + random.nextGaussian() * 25, c[1] + random.nextGaussian() * 25));
+        }
+        return points;
+    }
+}
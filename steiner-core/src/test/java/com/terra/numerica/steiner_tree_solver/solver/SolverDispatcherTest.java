@@ -0,0 +1,44 @@
+package com.terra.numerica.steiner_tree_solver.solver;
+
+import com.terra.numerica.steiner_tree_solver.model.Point;
+import com.terra.numerica.steiner_tree_solver.model.SteinerResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SolverDispatcherTest {
+
+    private static final List<Point> UNIT_SQUARE = List.of(
+        new Point(0, 0), new Point(1, 0), new Point(1, 1), new Point(0, 1));
+
+    /** Steiner minimal tree of the unit square. */
+    private static final double OPTIMUM = 1 + Math.sqrt(3);
+
+    private final SolverDispatcher dispatcher = new SolverDispatcher(List.of(new ExactSolver()), new CostModel());
+
+    @Test
+    void exactSearchToTheEndIsItsOwnBound() {
+        SteinerResult result = dispatcher.solve(UNIT_SQUARE, SolveOptions.defaults());
+
+        assertEquals(ExactSolver.NAME, result.getStrategy());
+        assertEquals(OPTIMUM, result.getTotalLength(), 1e-6);
+        assertEquals(result.getTotalLength(), result.getLowerBound());
+        assertEquals(0, result.getGap());
+    }
+
+    @Test
+    void exactSearchStoppedAtTheTargetGapReportsATrueBound() {
+        SteinerResult result = dispatcher.solve(UNIT_SQUARE, SolveOptions.defaults().withTargetGap(0.2));
+
+        // The MST is within 20% of the bound, so the search stops before the optimum
+        assertEquals(ExactSolver.NAME, result.getStrategy());
+        assertEquals(3.0, result.getTotalLength(), 1e-9);
+        assertTrue(result.getLowerBound() <= OPTIMUM + 1e-9,
+            () -> "lower bound " + result.getLowerBound() + " exceeds the optimum " + OPTIMUM);
+        assertTrue(result.getGap() >= (3.0 - OPTIMUM) / OPTIMUM - 1e-9,
+            () -> "gap " + result.getGap() + " hides the distance to the optimum");
+    }
+}